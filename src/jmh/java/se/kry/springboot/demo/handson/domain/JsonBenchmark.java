@@ -0,0 +1,79 @@
+package se.kry.springboot.demo.handson.domain;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import se.kry.springboot.demo.handson.infra.web.DomainJsonModule;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonBenchmark {
+
+  private static final LocalDateTime START_TIME = LocalDateTime.of(2001, 1, 1, 12, 0);
+
+  @Param({"false", "true"})
+  private boolean domainModule;
+
+  private ObjectWriter eventResponseWriter;
+
+  private ObjectReader eventCreationRequestReader;
+
+  private ObjectReader eventUpdateRequestReader;
+
+  private EventResponse eventResponse;
+
+  private byte[] eventCreationRequestJson;
+
+  private byte[] eventUpdateRequestJson;
+
+  @Setup
+  public void setUp() throws IOException {
+    var builder = Jackson2ObjectMapperBuilder.json().featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    if (domainModule) {
+      builder.modulesToInstall(new DomainJsonModule());
+    }
+    ObjectMapper objectMapper = builder.build();
+    eventResponseWriter = objectMapper.writerFor(EventResponse.class);
+    eventCreationRequestReader = objectMapper.readerFor(EventCreationRequest.class);
+    eventUpdateRequestReader = objectMapper.readerFor(EventUpdateRequest.class);
+    eventResponse = new EventResponse(UUID.randomUUID(), "Some event", START_TIME, START_TIME.plusHours(1));
+    eventCreationRequestJson = objectMapper.writeValueAsString(
+            new EventCreationRequest("Some event", START_TIME, START_TIME.plusHours(1)))
+        .getBytes(StandardCharsets.UTF_8);
+    eventUpdateRequestJson = objectMapper.writeValueAsString(
+            new EventUpdateRequest(Optional.of("Some event"), Optional.of(START_TIME), Optional.empty()))
+        .getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public byte[] serializeEventResponse() throws IOException {
+    return eventResponseWriter.writeValueAsBytes(eventResponse);
+  }
+
+  @Benchmark
+  public EventCreationRequest deserializeEventCreationRequest() throws IOException {
+    return eventCreationRequestReader.readValue(eventCreationRequestJson);
+  }
+
+  @Benchmark
+  public EventUpdateRequest deserializeEventUpdateRequest() throws IOException {
+    return eventUpdateRequestReader.readValue(eventUpdateRequestJson);
+  }
+}
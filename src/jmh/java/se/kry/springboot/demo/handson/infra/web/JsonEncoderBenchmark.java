@@ -0,0 +1,73 @@
+package se.kry.springboot.demo.handson.infra.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Hints;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import se.kry.springboot.demo.handson.domain.EventResponse;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JsonEncoderBenchmark {
+
+  private static final LocalDateTime START_TIME = LocalDateTime.of(2001, 1, 1, 12, 0);
+
+  private static final ResolvableType EVENT_LIST = ResolvableType.forClassWithGenerics(List.class, EventResponse.class);
+
+  private static final Map<String, Object> HINTS = Map.of(Hints.SUPPRESS_LOGGING_HINT, true);
+
+  @Param({"false", "true"})
+  private boolean pooled;
+
+  @Param({"10", "500"})
+  private int size;
+
+  private Jackson2JsonEncoder encoder;
+
+  private DataBufferFactory bufferFactory;
+
+  private List<EventResponse> events;
+
+  @Setup
+  public void setUp() {
+    ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .modulesToInstall(new DomainJsonModule())
+        .build();
+    encoder = pooled ? new PooledJsonEncoder(objectMapper) : new Jackson2JsonEncoder(objectMapper);
+    bufferFactory = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+    events = IntStream.range(0, size)
+        .mapToObj(i -> new EventResponse(UUID.randomUUID(), "Event " + i, START_TIME, START_TIME.plusHours(1)))
+        .toList();
+  }
+
+  @Benchmark
+  public int encodeEvents() {
+    var buffer = encoder.encodeValue(events, bufferFactory, EVENT_LIST, MediaType.APPLICATION_JSON, HINTS);
+    var length = buffer.readableByteCount();
+    DataBufferUtils.release(buffer);
+    return length;
+  }
+}
@@ -0,0 +1,91 @@
+package se.kry.springboot.demo.handson.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import se.kry.springboot.demo.handson.Application;
+import se.kry.springboot.demo.handson.domain.CursorPage;
+import se.kry.springboot.demo.handson.domain.EventCreationRequest;
+import se.kry.springboot.demo.handson.domain.EventResponse;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class EventServiceBenchmark {
+
+  private static final LocalDateTime START_TIME = LocalDateTime.of(2001, 1, 1, 12, 0);
+
+  private ConfigurableApplicationContext context;
+
+  private EventService service;
+
+  private EventCreationRequest creationRequest;
+
+  private UUID eventId;
+
+  private PageRequest pageRequest;
+
+  @Setup
+  public void setUp() {
+    context = new SpringApplicationBuilder(Application.class)
+        .web(WebApplicationType.NONE)
+        .properties("logging.level.root=WARN")
+        .run();
+    service = context.getBean(EventService.class);
+
+    creationRequest = new EventCreationRequest("Some event", START_TIME, START_TIME.plusHours(1));
+    service.createEvents(IntStream.range(0, 1_000)
+            .mapToObj(i -> new EventCreationRequest("Event " + i, START_TIME.plusHours(i), START_TIME.plusHours(i + 1)))
+            .toList())
+        .blockLast();
+    eventId = service.createEvent(creationRequest).map(EventResponse::id).block();
+    pageRequest = PageRequest.of(0, 20, Sort.by("startTime"));
+  }
+
+  @TearDown
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public EventResponse createEvent() {
+    return service.createEvent(creationRequest).block();
+  }
+
+  @Benchmark
+  public EventResponse getEvent() {
+    return service.getEvent(eventId).block();
+  }
+
+  @Benchmark
+  public Page<EventResponse> getEventsPage() {
+    return service.getEvents(pageRequest).block();
+  }
+
+  @Benchmark
+  public CursorPage<EventResponse> getEventsCursor() {
+    return service.getEvents(Optional.empty(), 20).block();
+  }
+
+  @Benchmark
+  public List<EventResponse> streamEvents() {
+    return service.streamEvents().collectList().block();
+  }
+}
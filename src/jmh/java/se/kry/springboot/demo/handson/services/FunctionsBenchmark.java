@@ -0,0 +1,92 @@
+package se.kry.springboot.demo.handson.services;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import se.kry.springboot.demo.handson.data.Event;
+import se.kry.springboot.demo.handson.data.Person;
+import se.kry.springboot.demo.handson.domain.CursorPage;
+import se.kry.springboot.demo.handson.domain.EventCreationRequest;
+import se.kry.springboot.demo.handson.domain.EventResponse;
+import se.kry.springboot.demo.handson.domain.EventUpdateRequest;
+import se.kry.springboot.demo.handson.domain.PersonResponse;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FunctionsBenchmark {
+
+  private static final LocalDateTime START_TIME = LocalDateTime.of(2001, 1, 1, 12, 0);
+
+  private UUID id;
+
+  private Event event;
+
+  private Person person;
+
+  private EventCreationRequest creationRequest;
+
+  private EventUpdateRequest updateRequest;
+
+  @Setup
+  public void setUp() {
+    id = UUID.randomUUID();
+    event = Event.from(id, "Some event", START_TIME, START_TIME.plusHours(1));
+    person = Person.from(id, "John Doe");
+    creationRequest = new EventCreationRequest("Some event", START_TIME, START_TIME.plusHours(1));
+    updateRequest = new EventUpdateRequest(Optional.of("Some other event"), Optional.empty(), Optional.empty());
+  }
+
+  @Benchmark
+  public EventResponse responseFromEvent() {
+    return EventFunctions.responseFromEvent(event);
+  }
+
+  @Benchmark
+  public Event newEventFromCreationRequest() {
+    return EventFunctions.newEventFromCreationRequest(id, creationRequest);
+  }
+
+  @Benchmark
+  public Event updateEventFromUpdateRequest() {
+    return EventFunctions.updateEventFromUpdateRequest(event, updateRequest);
+  }
+
+  @Benchmark
+  public CursorPage<EventResponse> cursorPageFromEvents(EventRows rows) {
+    return EventFunctions.cursorPageFromEvents(rows.events, rows.size);
+  }
+
+  @Benchmark
+  public PersonResponse responseFromPerson() {
+    return PersonFunctions.responseFromPerson(person);
+  }
+
+  @State(Scope.Benchmark)
+  public static class EventRows {
+
+    @Param({"20", "500"})
+    private int size;
+
+    private List<Event> events;
+
+    @Setup
+    public void setUp() {
+      events = IntStream.rangeClosed(0, size)
+          .mapToObj(i -> Event.from(UUID.randomUUID(), "Event " + i,
+              START_TIME.plusHours(i), START_TIME.plusHours(i + 1)))
+          .toList();
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package se.kry.springboot.demo.handson.util;
+
+import static se.kry.springboot.demo.handson.util.ReactivePreconditions.requireNonNull;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuple3;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReactivePreconditionsBenchmark {
+
+  private final String first = "foo";
+
+  private final String second = "bar";
+
+  private final String third = "baz";
+
+  @Benchmark
+  public String legacyRequireNonNull1() {
+    return Legacy.requireNonNull(first).flatMap(p -> Mono.just(first)).block();
+  }
+
+  @Benchmark
+  public String legacyRequireNonNull2() {
+    return Legacy.requireNonNull(first, second).flatMap(p -> Mono.just(second)).block();
+  }
+
+  @Benchmark
+  public String legacyRequireNonNull3() {
+    return Legacy.requireNonNull(first, second, third).flatMap(p -> Mono.just(third)).block();
+  }
+
+  @Benchmark
+  public String requireNonNull1() {
+    return requireNonNull(first, () -> Mono.just(first)).block();
+  }
+
+  @Benchmark
+  public String requireNonNull2() {
+    return requireNonNull(first, second, () -> Mono.just(second)).block();
+  }
+
+  @Benchmark
+  public String requireNonNull3() {
+    return requireNonNull(first, second, third, () -> Mono.just(third)).block();
+  }
+
+  /**
+   * Former implementation, kept as a baseline: checks through {@code Mono.just} and {@code Mono.zip}.
+   */
+  enum Legacy {
+    ;
+
+    static <T> Mono<T> requireNonNull(T object) {
+      if (object == null) {
+        return Mono.error(NullPointerException::new);
+      }
+      return Mono.just(object);
+    }
+
+    static <T1, T2> Mono<Tuple2<T1, T2>> requireNonNull(T1 object1, T2 object2) {
+      return Mono.zip(
+          requireNonNull(object1),
+          requireNonNull(object2)
+      );
+    }
+
+    static <T1, T2, T3> Mono<Tuple3<T1, T2, T3>> requireNonNull(T1 object1, T2 object2, T3 object3) {
+      return Mono.zip(
+          requireNonNull(object1),
+          requireNonNull(object2),
+          requireNonNull(object3)
+      );
+    }
+  }
+}
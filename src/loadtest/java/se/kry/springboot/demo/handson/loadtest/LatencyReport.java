@@ -0,0 +1,68 @@
+package se.kry.springboot.demo.handson.loadtest;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+class LatencyReport {
+
+  private static final long HIGHEST_TRACKABLE_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+  private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+
+  private final Map<Operation, LongAdder> errors = new EnumMap<>(Operation.class);
+
+  LatencyReport() {
+    for (var operation : Operation.values()) {
+      recorders.put(operation, new Recorder(HIGHEST_TRACKABLE_NANOS, 3));
+      errors.put(operation, new LongAdder());
+    }
+  }
+
+  void recordSuccess(Operation operation, long nanos) {
+    recorders.get(operation).recordValue(Math.min(nanos, HIGHEST_TRACKABLE_NANOS));
+  }
+
+  void recordError(Operation operation) {
+    errors.get(operation).increment();
+  }
+
+  void reset() {
+    recorders.values().forEach(Recorder::reset);
+    errors.values().forEach(LongAdder::reset);
+  }
+
+  void print(PrintStream out, Duration elapsed) {
+    var seconds = elapsed.toNanos() / 1e9;
+    var total = new Histogram(HIGHEST_TRACKABLE_NANOS, 3);
+    out.printf("%-26s %10s %8s %10s %10s %10s %10s %10s%n",
+        "operation", "count", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+    for (var operation : Operation.values()) {
+      var histogram = recorders.get(operation).getIntervalHistogram();
+      total.add(histogram);
+      print(out, operation.name(), histogram, errors.get(operation).sum(), seconds);
+    }
+    print(out, "TOTAL", total, errors.values().stream().mapToLong(LongAdder::sum).sum(), seconds);
+  }
+
+  private static void print(PrintStream out, String name, Histogram histogram, long errors, double seconds) {
+    out.printf("%-26s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+        name,
+        histogram.getTotalCount(),
+        errors,
+        histogram.getTotalCount() / seconds,
+        millis(histogram.getValueAtPercentile(50)),
+        millis(histogram.getValueAtPercentile(99)),
+        millis(histogram.getValueAtPercentile(99.9)),
+        millis(histogram.getMaxValue()));
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1e6;
+  }
+}
@@ -0,0 +1,197 @@
+package se.kry.springboot.demo.handson.loadtest;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import se.kry.springboot.demo.handson.domain.EventCreationRequest;
+import se.kry.springboot.demo.handson.domain.EventParticipantsUpdateRequest;
+import se.kry.springboot.demo.handson.domain.EventResponse;
+import se.kry.springboot.demo.handson.domain.EventUpdateRequest;
+import se.kry.springboot.demo.handson.domain.PersonCreationRequest;
+import se.kry.springboot.demo.handson.domain.PersonResponse;
+import se.kry.springboot.demo.handson.loadtest.LoadTestSettings.Workload;
+
+/**
+ * Replays a mixed REST workload against a running application and prints per-operation latency percentiles. Requests
+ * follow an open-loop schedule at a fixed rate and latency is measured from when a request was due, so a stalled
+ * server shows up as queueing delay instead of as fewer, faster samples. Each worker draws from its own random
+ * generator split from a fixed seed, so the same settings replay the same sequence of operations.
+ */
+public class LoadTest {
+
+  private static final LocalDateTime START_TIME = LocalDateTime.of(2001, 1, 1, 12, 0);
+
+  private final LoadTestSettings settings;
+
+  private final WebClient webClient;
+
+  private final List<Workload> workloads;
+
+  private final Map<Workload, List<Operation>> operations;
+
+  private final LatencyReport report = new LatencyReport();
+
+  private final SplittableRandom random;
+
+  private List<UUID> eventIds;
+
+  private List<UUID> personIds;
+
+  LoadTest(LoadTestSettings settings) {
+    this.settings = settings;
+    this.random = new SplittableRandom(settings.randomSeed());
+    var objectMapper = Jackson2ObjectMapperBuilder.json()
+        .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+        .build();
+    var connectionProvider = ConnectionProvider.builder("loadtest")
+        .maxConnections(settings.concurrency())
+        .pendingAcquireMaxCount(-1)
+        .build();
+    this.webClient = WebClient.builder()
+        .baseUrl(settings.baseUrl())
+        .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+        .codecs(codecs -> {
+          codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+          codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+        })
+        .build();
+    this.workloads = settings.mix().entrySet().stream()
+        .flatMap(entry -> Collections.nCopies(entry.getValue(), entry.getKey()).stream())
+        .toList();
+    this.operations = Arrays.stream(Operation.values())
+        .collect(Collectors.groupingBy(Operation::workload));
+  }
+
+  public static void main(String[] args) {
+    var settings = LoadTestSettings.from(System.getProperties());
+    System.out.printf("Load test against %s at %d req/s with %d concurrent clients, mix %s, seed %d%n",
+        settings.baseUrl(), settings.rate(), settings.concurrency(), settings.mix(), settings.randomSeed());
+    new LoadTest(settings).run();
+  }
+
+  void run() {
+    populate();
+
+    System.out.printf("Warming up for %s%n", settings.warmup());
+    drive(settings.warmup());
+    report.reset();
+
+    System.out.printf("Measuring for %s%n", settings.duration());
+    var start = System.nanoTime();
+    drive(settings.duration());
+    report.print(System.out, Duration.ofNanos(System.nanoTime() - start));
+  }
+
+  private void populate() {
+    eventIds = Flux.range(0, settings.entities())
+        .flatMapSequential(i -> createEvent(i).map(EventResponse::id), settings.concurrency())
+        .collectList()
+        .block();
+    personIds = Flux.range(0, settings.entities())
+        .flatMapSequential(i -> createPerson(i).map(PersonResponse::id), settings.concurrency())
+        .collectList()
+        .block();
+  }
+
+  private void drive(Duration duration) {
+    var start = System.nanoTime();
+    var deadline = start + duration.toNanos();
+    var interval = settings.concurrency() * 1_000_000_000L / settings.rate();
+    Flux.range(0, settings.concurrency())
+        .flatMap(worker -> worker(random.split(), start + worker * interval / settings.concurrency(), interval,
+            deadline), settings.concurrency())
+        .blockLast();
+  }
+
+  private Mono<Void> worker(SplittableRandom random, long first, long interval, long deadline) {
+    var due = new long[] {first};
+    return Mono.defer(() -> {
+          var scheduled = due[0];
+          due[0] += interval;
+          return Mono.delay(Duration.ofNanos(Math.max(0, scheduled - System.nanoTime())))
+              .then(execute(random, scheduled));
+        })
+        .repeat(() -> due[0] < deadline)
+        .then();
+  }
+
+  private Mono<Void> execute(SplittableRandom random, long scheduled) {
+    var candidates = operations.get(workloads.get(random.nextInt(workloads.size())));
+    var operation = candidates.get(random.nextInt(candidates.size()));
+    return call(random, operation)
+        .doOnSuccess(ignored -> report.recordSuccess(operation, System.nanoTime() - scheduled))
+        .onErrorResume(e -> {
+          report.recordError(operation);
+          return Mono.empty();
+        });
+  }
+
+  private Mono<Void> call(SplittableRandom random, Operation operation) {
+    return switch (operation) {
+      case READ_EVENT -> get("/api/v1/events/{id}", randomOf(random, eventIds));
+      case READ_EVENTS -> get("/api/v1/events?page={page}&size=20", random.nextInt(10));
+      case READ_PERSON -> get("/api/v1/people/{id}", randomOf(random, personIds));
+      case READ_PEOPLE -> get("/api/v1/people?page={page}&size=20", random.nextInt(10));
+      case CREATE_EVENT -> createEvent(random.nextInt()).then();
+      case UPDATE_EVENT -> webClient.patch().uri("/api/v1/events/{id}", randomOf(random, eventIds))
+          .bodyValue(new EventUpdateRequest(Optional.of("Event " + random.nextInt()), Optional.empty(),
+              Optional.empty()))
+          .retrieve()
+          .toBodilessEntity()
+          .then();
+      case CREATE_PERSON -> createPerson(random.nextInt()).then();
+      case READ_EVENT_PARTICIPANTS -> get("/api/v1/events/{id}/participants", randomOf(random, eventIds));
+      case UPDATE_EVENT_PARTICIPANTS -> webClient.put()
+          .uri("/api/v1/events/{id}/participants", randomOf(random, eventIds))
+          .bodyValue(new EventParticipantsUpdateRequest(random.ints(random.nextInt(1, 20), 0, personIds.size())
+              .mapToObj(personIds::get)
+              .toList()))
+          .retrieve()
+          .toBodilessEntity()
+          .then();
+    };
+  }
+
+  private Mono<Void> get(String uri, Object... variables) {
+    return webClient.get().uri(uri, variables)
+        .retrieve()
+        .toBodilessEntity()
+        .then();
+  }
+
+  private Mono<EventResponse> createEvent(int i) {
+    var startTime = START_TIME.plusMinutes(Math.floorMod(i, 525_600));
+    return webClient.post().uri("/api/v1/events")
+        .bodyValue(new EventCreationRequest("Event " + i, startTime, startTime.plusHours(1)))
+        .retrieve()
+        .bodyToMono(EventResponse.class);
+  }
+
+  private Mono<PersonResponse> createPerson(int i) {
+    return webClient.post().uri("/api/v1/people")
+        .bodyValue(new PersonCreationRequest("Person " + i))
+        .retrieve()
+        .bodyToMono(PersonResponse.class);
+  }
+
+  private static UUID randomOf(SplittableRandom random, List<UUID> ids) {
+    return ids.get(random.nextInt(ids.size()));
+  }
+}
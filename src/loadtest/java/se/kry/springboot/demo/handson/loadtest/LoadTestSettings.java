@@ -0,0 +1,69 @@
+package se.kry.springboot.demo.handson.loadtest;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.stream.Collectors;
+
+record LoadTestSettings(String baseUrl,
+                        int concurrency,
+                        Duration warmup,
+                        Duration duration,
+                        int entities,
+                        int rate,
+                        long randomSeed,
+                        Map<Workload, Integer> mix) {
+
+  LoadTestSettings {
+    if (concurrency < 1 || rate < 1) {
+      throw new IllegalArgumentException("Concurrency and rate must be positive: " + concurrency + ", " + rate);
+    }
+    if (entities < 1) {
+      throw new IllegalArgumentException("At least one entity must be created: " + entities);
+    }
+    if (mix.values().stream().anyMatch(weight -> weight < 0) || mix.values().stream().allMatch(weight -> weight == 0)) {
+      throw new IllegalArgumentException("Workload mix needs non-negative weights, at least one positive: " + mix);
+    }
+  }
+
+  static LoadTestSettings from(Properties properties) {
+    return new LoadTestSettings(
+        properties.getProperty("loadtest.base-url", "http://localhost:8080"),
+        Integer.parseInt(properties.getProperty("loadtest.concurrency", "64")),
+        Duration.parse(properties.getProperty("loadtest.warmup", "PT10S")),
+        Duration.parse(properties.getProperty("loadtest.duration", "PT60S")),
+        Integer.parseInt(properties.getProperty("loadtest.entities", "1000")),
+        Integer.parseInt(properties.getProperty("loadtest.rate", "1000")),
+        Long.parseLong(properties.getProperty("loadtest.random-seed", "42")),
+        parseMix(properties.getProperty("loadtest.mix", "read:80,write:15,participants:5")));
+  }
+
+  private static Map<Workload, Integer> parseMix(String mix) {
+    return Arrays.stream(mix.split(","))
+        .map(LoadTestSettings::parseMixEntry)
+        .collect(Collectors.toMap(
+            Map.Entry::getKey,
+            Map.Entry::getValue,
+            Integer::sum,
+            () -> new EnumMap<>(Workload.class)));
+  }
+
+  private static Map.Entry<Workload, Integer> parseMixEntry(String entry) {
+    var parts = entry.split(":", -1);
+    if (parts.length != 2) {
+      throw new IllegalArgumentException("Workload mix entry must be name:weight: '" + entry + "'");
+    }
+    try {
+      return Map.entry(Workload.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+    } catch (IllegalArgumentException e) {
+      throw new IllegalArgumentException("Workload mix entry must be name:weight, with a name among "
+          + Arrays.toString(Workload.values()) + ": '" + entry + "'", e);
+    }
+  }
+
+  enum Workload {
+    READ, WRITE, PARTICIPANTS
+  }
+}
@@ -0,0 +1,25 @@
+package se.kry.springboot.demo.handson.loadtest;
+
+import se.kry.springboot.demo.handson.loadtest.LoadTestSettings.Workload;
+
+enum Operation {
+  READ_EVENT(Workload.READ),
+  READ_EVENTS(Workload.READ),
+  READ_PERSON(Workload.READ),
+  READ_PEOPLE(Workload.READ),
+  CREATE_EVENT(Workload.WRITE),
+  UPDATE_EVENT(Workload.WRITE),
+  CREATE_PERSON(Workload.WRITE),
+  READ_EVENT_PARTICIPANTS(Workload.PARTICIPANTS),
+  UPDATE_EVENT_PARTICIPANTS(Workload.PARTICIPANTS);
+
+  private final Workload workload;
+
+  Operation(Workload workload) {
+    this.workload = workload;
+  }
+
+  Workload workload() {
+    return workload;
+  }
+}
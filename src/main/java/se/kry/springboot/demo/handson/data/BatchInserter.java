@@ -0,0 +1,124 @@
+package se.kry.springboot.demo.handson.data;
+
+import io.r2dbc.spi.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.data.mapping.callback.ReactiveEntityCallbacks;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.mapping.OutboundRow;
+import org.springframework.data.r2dbc.mapping.event.BeforeConvertCallback;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+import org.springframework.data.relational.core.sql.IdentifierProcessing;
+import org.springframework.data.relational.core.sql.SqlIdentifier;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.Parameter;
+import org.springframework.r2dbc.core.binding.BindMarkersFactory;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class BatchInserter {
+
+  private final DatabaseClient databaseClient;
+
+  private final R2dbcConverter converter;
+
+  private final IdentifierProcessing identifierProcessing;
+
+  private final BindMarkersFactory bindMarkersFactory;
+
+  private final ReactiveEntityCallbacks entityCallbacks;
+
+  private final MappingContext<? extends RelationalPersistentEntity<?>, ? extends RelationalPersistentProperty> mappingContext;
+
+  private final int batchSize;
+
+  BatchInserter(R2dbcEntityTemplate template, BeanFactory beanFactory, int batchSize) {
+    this.databaseClient = template.getDatabaseClient();
+    this.converter = template.getConverter();
+    var dialect = DialectResolver.getDialect(databaseClient.getConnectionFactory());
+    this.identifierProcessing = dialect.getIdentifierProcessing();
+    this.bindMarkersFactory = dialect.getBindMarkersFactory();
+    this.entityCallbacks = ReactiveEntityCallbacks.create(beanFactory);
+    this.mappingContext = converter.getMappingContext();
+    this.batchSize = batchSize;
+  }
+
+  <T> Flux<T> insertAll(Class<T> type, Collection<T> entities) {
+    var persistentEntity = mappingContext.getRequiredPersistentEntity(type);
+    var table = persistentEntity.getTableName();
+    return Flux.fromIterable(entities)
+        .map(entity -> initialVersion(persistentEntity, entity))
+        .concatMap(entity -> entityCallbacks.callback(BeforeConvertCallback.class, entity, table))
+        .buffer(batchSize)
+        .concatMap(batch -> insertBatch(table, batch).thenMany(Flux.fromIterable(batch)));
+  }
+
+  /**
+   * Sets the version property to its initial value, as {@link R2dbcEntityTemplate#insert(Object)} does.
+   */
+  private <T> T initialVersion(RelationalPersistentEntity<?> persistentEntity, T entity) {
+    var versionProperty = persistentEntity.getVersionProperty();
+    if (versionProperty == null) {
+      return entity;
+    }
+    var accessor = persistentEntity.getPropertyAccessor(entity);
+    var type = versionProperty.getType();
+    accessor.setProperty(versionProperty,
+        converter.getConversionService().convert(type.isPrimitive() ? 1L : 0L, type));
+    return accessor.getBean();
+  }
+
+  /**
+   * Inserts the batch as one multi-row statement. The values are bound by index directly on the statement, since
+   * every {@link DatabaseClient.GenericExecuteSpec#bind} copies all bindings made so far.
+   */
+  private <T> Mono<Void> insertBatch(SqlIdentifier table, List<T> batch) {
+    var rows = batch.stream().map(this::outboundRow).toList();
+    var columns = List.copyOf(rows.get(0).keySet());
+    var bindMarkers = bindMarkersFactory.create();
+    var values = new ArrayList<Parameter>(rows.size() * columns.size());
+
+    var tuples = new StringJoiner(", ");
+    for (var row : rows) {
+      var tuple = new StringJoiner(", ", "(", ")");
+      for (var column : columns) {
+        tuple.add(bindMarkers.next().getPlaceholder());
+        values.add(row.get(column));
+      }
+      tuples.add(tuple.toString());
+    }
+    var sql = "INSERT INTO " + table.toSql(identifierProcessing)
+        + columns.stream().map(column -> column.toSql(identifierProcessing)).collect(Collectors.joining(", ", " (", ")"))
+        + " VALUES " + tuples;
+
+    return databaseClient.sql(sql)
+        .filter((statement, next) -> next.execute(bindAll(statement, values)))
+        .then();
+  }
+
+  private OutboundRow outboundRow(Object entity) {
+    var row = new OutboundRow();
+    converter.write(entity, row);
+    return row;
+  }
+
+  private static Statement bindAll(Statement statement, List<Parameter> values) {
+    for (var index = 0; index < values.size(); index++) {
+      var value = values.get(index);
+      if (value.hasValue()) {
+        statement.bind(index, value.getValue());
+      } else {
+        statement.bindNull(index, value.getType());
+      }
+    }
+    return statement;
+  }
+}
@@ -0,0 +1,40 @@
+package se.kry.springboot.demo.handson.data;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
+import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+
+class BatchLookup {
+
+  private final R2dbcEntityOperations operations;
+
+  private final MappingContext<? extends RelationalPersistentEntity<?>, ? extends RelationalPersistentProperty> mappingContext;
+
+  private final int batchSize;
+
+  BatchLookup(R2dbcEntityTemplate template, int batchSize) {
+    this.operations = template;
+    this.mappingContext = template.getConverter().getMappingContext();
+    this.batchSize = batchSize;
+  }
+
+  <T> Flux<T> findAllInOrder(Class<T> type, List<?> ids) {
+    var persistentEntity = mappingContext.getRequiredPersistentEntity(type);
+    var idProperty = persistentEntity.getRequiredIdProperty().getName();
+    return Flux.fromIterable(ids)
+        .buffer(batchSize)
+        .concatMap(batch -> operations.select(type)
+            .matching(Query.query(Criteria.where(idProperty).in(new LinkedHashSet<>(batch))))
+            .all()
+            .collectMap(entity -> persistentEntity.getIdentifierAccessor(entity).getRequiredIdentifier())
+            .flatMapIterable(found -> batch.stream().map(found::get).filter(Objects::nonNull).toList()));
+  }
+}
@@ -0,0 +1,12 @@
+package se.kry.springboot.demo.handson.data;
+
+import java.util.Collection;
+import reactor.core.publisher.Flux;
+
+public interface BatchRepository<T> {
+
+  /**
+   * Inserts new entities with multi-row INSERT statements, one round trip per batch.
+   */
+  Flux<T> insertAll(Collection<T> entities);
+}
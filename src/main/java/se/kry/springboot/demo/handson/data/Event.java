@@ -10,6 +10,7 @@ import javax.validation.constraints.Size;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.relational.core.mapping.Table;
 import se.kry.springboot.demo.handson.domain.EventConstants;
@@ -20,19 +21,14 @@ public record Event(@Id UUID id,
                     @NotNull LocalDateTime startTime,
                     @NotNull LocalDateTime endTime,
                     @CreatedDate Instant createdDate,
-                    @LastModifiedDate Instant lastModifiedDate) implements Persistable<UUID> {
-
-  public static Event from(@NotBlank @Size(max = EventConstants.Sizes.TITLE) String title,
-                           @NotNull LocalDateTime start,
-                           @NotNull LocalDateTime end) {
-    return Event.from(UUID.randomUUID(), title, start, end);
-  }
+                    @LastModifiedDate Instant lastModifiedDate,
+                    @Version Long version) implements Persistable<UUID> {
 
   public static Event from(@NotNull UUID id,
                            @NotBlank @Size(max = EventConstants.Sizes.TITLE) String title,
                            @NotNull LocalDateTime start,
                            @NotNull LocalDateTime end) {
-    return new Event(id, title, start, end, null, null);
+    return new Event(id, title, start, end, null, null, null);
   }
 
   @Override
@@ -48,6 +44,6 @@ public record Event(@Id UUID id,
   public Event copy(UnaryOperator<String> titleFunction, UnaryOperator<LocalDateTime> startFunction,
                     UnaryOperator<LocalDateTime> endFunction) {
     return new Event(id, titleFunction.apply(title), startFunction.apply(startTime), endFunction.apply(endTime), createdDate,
-        lastModifiedDate);
+        lastModifiedDate, version);
   }
 }
@@ -1,12 +1,59 @@
 package se.kry.springboot.demo.handson.data;
 
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import se.kry.springboot.demo.handson.domain.ResourceVersion;
 
-public interface EventRepository extends R2dbcRepository<Event, UUID> {
+public interface EventRepository extends R2dbcRepository<Event, UUID>, SliceRepository<Event>,
+    BatchRepository<Event>, LookupRepository<Event> {
 
   Flux<Event> findBy(Pageable pageable);
+
+  Flux<Event> findByStartTimeBeforeAndEndTimeAfter(LocalDateTime to, LocalDateTime from, Pageable pageable);
+
+  Flux<Event> findByStartTimeBeforeAndEndTimeAfter(LocalDateTime to, LocalDateTime from, Sort sort);
+
+  Mono<Long> countByStartTimeBeforeAndEndTimeAfter(LocalDateTime to, LocalDateTime from);
+
+  @Query("SELECT * FROM event ORDER BY start_time, id LIMIT :limit")
+  Flux<Event> findKeysetFirst(int limit);
+
+  @Query("SELECT * FROM event WHERE start_time > :startTime OR (start_time = :startTime AND id > :id)"
+      + " ORDER BY start_time, id LIMIT :limit")
+  Flux<Event> findKeysetAfter(LocalDateTime startTime, UUID id, int limit);
+
+  @Query("SELECT event.* FROM event JOIN participant ON participant.event_id = event.id"
+      + " WHERE participant.person_id = :personId ORDER BY event.start_time, event.id")
+  Flux<Event> findByParticipantPersonId(UUID personId);
+
+  @Query("SELECT event.* FROM event JOIN participant ON participant.event_id = event.id"
+      + " WHERE participant.person_id = :personId ORDER BY event.start_time, event.id LIMIT :limit OFFSET :offset")
+  Flux<Event> findByParticipantPersonId(UUID personId, int limit, long offset);
+
+  @Query("SELECT participant_count FROM event WHERE id = :id")
+  Mono<Long> findParticipantCountById(UUID id);
+
+  @Query("SELECT (SELECT COUNT(*) FROM participant WHERE participant.event_id = event.id) FROM event WHERE id = :id")
+  Mono<Long> countParticipantsById(UUID id);
+
+  @Modifying
+  @Query("UPDATE event SET participant_count = (SELECT COUNT(*) FROM participant WHERE event_id = :id)"
+      + " WHERE id = :id")
+  Mono<Integer> refreshParticipantCount(UUID id);
+
+  @Modifying
+  @Query("UPDATE event SET participant_count"
+      + " = (SELECT COUNT(*) FROM participant WHERE participant.event_id = event.id)")
+  Mono<Integer> refreshParticipantCounts();
+
+  @Query("SELECT id, version, last_modified_date AS last_modified FROM event WHERE id = :id")
+  Mono<ResourceVersion> findVersionById(UUID id);
 }
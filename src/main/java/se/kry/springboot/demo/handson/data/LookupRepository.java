@@ -0,0 +1,15 @@
+package se.kry.springboot.demo.handson.data;
+
+import java.util.List;
+import java.util.UUID;
+import reactor.core.publisher.Flux;
+
+public interface LookupRepository<T> {
+
+  /**
+   * Finds entities with one {@code WHERE id IN (...)} query per batch of ids, in the order of the ids. Unknown ids are
+   * skipped. Entities are emitted batch by batch, so only one batch is held here; a streaming response such as NDJSON
+   * keeps that bound, while a JSON array response collects all of them first.
+   */
+  Flux<T> findAllInOrder(List<UUID> ids);
+}
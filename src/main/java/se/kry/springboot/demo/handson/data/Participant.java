@@ -14,8 +14,8 @@ public record Participant(@Id UUID id,
                           @NotNull UUID personId,
                           @CreatedDate Instant createdDate) implements Persistable<UUID> {
 
-  public static Participant from(@NotNull UUID eventId, @NotNull UUID personId) {
-    return new Participant(UUID.randomUUID(), eventId, personId, null);
+  public static Participant from(@NotNull UUID id, @NotNull UUID eventId, @NotNull UUID personId) {
+    return new Participant(id, eventId, personId, null);
   }
 
   @Override
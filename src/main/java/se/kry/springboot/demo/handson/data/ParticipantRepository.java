@@ -1,13 +1,23 @@
 package se.kry.springboot.demo.handson.data;
 
+import java.util.Collection;
 import java.util.UUID;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
-public interface ParticipantRepository extends R2dbcRepository<Participant, UUID> {
+public interface ParticipantRepository extends R2dbcRepository<Participant, UUID>, BatchRepository<Participant> {
 
   Mono<Void> deleteAllByEventId(UUID eventId);
 
+  Mono<Void> deleteAllByEventIdAndPersonIdIn(UUID eventId, Collection<UUID> personIds);
+
   Flux<Participant> findByEventId(UUID eventId);
+
+  @Query("SELECT COUNT(*) FROM participant WHERE person_id = :personId")
+  Mono<Long> countByPersonId(UUID personId);
+
+  @Query("SELECT COUNT(*) FROM participant WHERE event_id = :eventId AND person_id = :personId")
+  Mono<Long> countByEventIdAndPersonId(UUID eventId, UUID personId);
 }
@@ -0,0 +1,23 @@
+package se.kry.springboot.demo.handson.data;
+
+import java.util.Collection;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Flux;
+
+class ParticipantRepositoryImpl implements BatchRepository<Participant> {
+
+  private final BatchInserter batchInserter;
+
+  ParticipantRepositoryImpl(R2dbcEntityTemplate template,
+                            BeanFactory beanFactory,
+                            @Value("${handson.data.batch-size}") int batchSize) {
+    this.batchInserter = new BatchInserter(template, beanFactory, batchSize);
+  }
+
+  @Override
+  public Flux<Participant> insertAll(Collection<Participant> participants) {
+    return batchInserter.insertAll(Participant.class, participants);
+  }
+}
@@ -9,6 +9,7 @@ import javax.validation.constraints.Size;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.domain.Persistable;
 import org.springframework.data.relational.core.mapping.Table;
 import se.kry.springboot.demo.handson.domain.PersonConstants;
@@ -17,15 +18,12 @@ import se.kry.springboot.demo.handson.domain.PersonConstants;
 public record Person(@Id UUID id,
                      @NotBlank @Size(max = PersonConstants.Sizes.NAME) String name,
                      @CreatedDate Instant createdDate,
-                     @LastModifiedDate Instant lastModifiedDate) implements Persistable<UUID> {
-
-  public static Person from(@NotBlank @Size(max = PersonConstants.Sizes.NAME) String name) {
-    return Person.from(UUID.randomUUID(), name);
-  }
+                     @LastModifiedDate Instant lastModifiedDate,
+                     @Version Long version) implements Persistable<UUID> {
 
   public static Person from(@NotNull UUID id,
                             @NotBlank @Size(max = PersonConstants.Sizes.NAME) String name) {
-    return new Person(id, name, null, null);
+    return new Person(id, name, null, null, null);
   }
 
   @Override
@@ -39,6 +37,6 @@ public record Person(@Id UUID id,
   }
 
   public Person copy(UnaryOperator<String> nameFunction) {
-    return new Person(id, nameFunction.apply(name), createdDate, lastModifiedDate);
+    return new Person(id, nameFunction.apply(name), createdDate, lastModifiedDate, version);
   }
 }
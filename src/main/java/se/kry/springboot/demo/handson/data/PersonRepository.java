@@ -5,11 +5,26 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import se.kry.springboot.demo.handson.domain.PersonResponse;
+import se.kry.springboot.demo.handson.domain.ResourceVersion;
 
-public interface PersonRepository extends R2dbcRepository<Person, UUID> {
+public interface PersonRepository extends R2dbcRepository<Person, UUID>, SliceRepository<Person>,
+    BatchRepository<Person>, LookupRepository<Person> {
 
   Flux<Person> findBy(Pageable pageable);
 
-  @Query("SELECT * FROM person JOIN participant ON participant.person_id = person.id WHERE participant.event_id = :eventId")
-  Flux<Person> findParticipantsByEventId(UUID eventId);
+  @Query("SELECT * FROM person ORDER BY name, id LIMIT :limit")
+  Flux<Person> findKeysetFirst(int limit);
+
+  @Query("SELECT * FROM person WHERE name > :name OR (name = :name AND id > :id) ORDER BY name, id LIMIT :limit")
+  Flux<Person> findKeysetAfter(String name, UUID id, int limit);
+
+  @Query("SELECT person.id, person.name FROM person"
+      + " JOIN participant ON participant.person_id = person.id"
+      + " WHERE participant.event_id = :eventId")
+  Flux<PersonResponse> findParticipantsByEventId(UUID eventId);
+
+  @Query("SELECT id, version, last_modified_date AS last_modified FROM person WHERE id = :id")
+  Mono<ResourceVersion> findVersionById(UUID id);
 }
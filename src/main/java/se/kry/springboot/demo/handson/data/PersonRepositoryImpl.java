@@ -0,0 +1,46 @@
+package se.kry.springboot.demo.handson.data;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.relational.core.query.Query;
+import reactor.core.publisher.Flux;
+
+class PersonRepositoryImpl implements SliceRepository<Person>, BatchRepository<Person>, LookupRepository<Person> {
+
+  private final R2dbcEntityOperations operations;
+
+  private final BatchInserter batchInserter;
+
+  private final BatchLookup batchLookup;
+
+  PersonRepositoryImpl(R2dbcEntityTemplate template,
+                       BeanFactory beanFactory,
+                       @Value("${handson.data.batch-size}") int batchSize) {
+    this.operations = template;
+    this.batchInserter = new BatchInserter(template, beanFactory, batchSize);
+    this.batchLookup = new BatchLookup(template, batchSize);
+  }
+
+  @Override
+  public Flux<Person> findSliceBy(Pageable pageable) {
+    return operations.select(Person.class)
+        .matching(Query.empty().with(pageable).limit(pageable.getPageSize() + 1))
+        .all();
+  }
+
+  @Override
+  public Flux<Person> insertAll(Collection<Person> people) {
+    return batchInserter.insertAll(Person.class, people);
+  }
+
+  @Override
+  public Flux<Person> findAllInOrder(List<UUID> ids) {
+    return batchLookup.findAllInOrder(Person.class, ids);
+  }
+}
@@ -0,0 +1,12 @@
+package se.kry.springboot.demo.handson.data;
+
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Flux;
+
+public interface SliceRepository<T> {
+
+  /**
+   * Finds the rows of the requested page plus one extra row, telling whether a next slice exists without counting.
+   */
+  Flux<T> findSliceBy(Pageable pageable);
+}
@@ -0,0 +1,15 @@
+package se.kry.springboot.demo.handson.domain;
+
+import java.util.List;
+import javax.validation.constraints.NotNull;
+
+public record BatchItemResponse<T>(long index, T value, @NotNull List<String> errors) {
+
+  public static <T> BatchItemResponse<T> success(long index, @NotNull T value) {
+    return new BatchItemResponse<>(index, value, List.of());
+  }
+
+  public static <T> BatchItemResponse<T> failure(long index, @NotNull List<String> errors) {
+    return new BatchItemResponse<>(index, null, errors);
+  }
+}
@@ -0,0 +1,7 @@
+package se.kry.springboot.demo.handson.domain;
+
+import java.util.List;
+import javax.validation.constraints.NotNull;
+
+public record CursorPage<T>(@NotNull List<T> content, String next) {
+}
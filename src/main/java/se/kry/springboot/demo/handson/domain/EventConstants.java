@@ -3,5 +3,6 @@ package se.kry.springboot.demo.handson.domain;
 public interface EventConstants {
   interface Sizes {
     int TITLE = 256;
+    int LOOKUP_IDS = 1000;
   }
 }
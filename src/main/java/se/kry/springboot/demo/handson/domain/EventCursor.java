@@ -0,0 +1,18 @@
+package se.kry.springboot.demo.handson.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import javax.validation.constraints.NotNull;
+import se.kry.springboot.demo.handson.util.CursorTokens;
+
+public record EventCursor(@NotNull LocalDateTime startTime, @NotNull UUID id) {
+
+  public static EventCursor parse(String token) {
+    var decoded = CursorTokens.decode(token);
+    return new EventCursor(LocalDateTime.parse(decoded.key()), decoded.id());
+  }
+
+  public String token() {
+    return CursorTokens.encode(id, startTime.toString());
+  }
+}
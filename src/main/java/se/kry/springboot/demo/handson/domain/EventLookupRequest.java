@@ -0,0 +1,9 @@
+package se.kry.springboot.demo.handson.domain;
+
+import java.util.List;
+import java.util.UUID;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+public record EventLookupRequest(@NotNull @Size(max = EventConstants.Sizes.LOOKUP_IDS) List<@NotNull UUID> ids) {
+}
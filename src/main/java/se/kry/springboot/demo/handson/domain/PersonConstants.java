@@ -3,5 +3,6 @@ package se.kry.springboot.demo.handson.domain;
 public interface PersonConstants {
   interface Sizes {
     int NAME = 256;
+    int LOOKUP_IDS = 1000;
   }
 }
@@ -0,0 +1,17 @@
+package se.kry.springboot.demo.handson.domain;
+
+import java.util.UUID;
+import javax.validation.constraints.NotNull;
+import se.kry.springboot.demo.handson.util.CursorTokens;
+
+public record PersonCursor(@NotNull String name, @NotNull UUID id) {
+
+  public static PersonCursor parse(String token) {
+    var decoded = CursorTokens.decode(token);
+    return new PersonCursor(decoded.key(), decoded.id());
+  }
+
+  public String token() {
+    return CursorTokens.encode(id, name);
+  }
+}
@@ -0,0 +1,12 @@
+package se.kry.springboot.demo.handson.domain;
+
+import java.time.Instant;
+import java.util.UUID;
+import javax.validation.constraints.NotNull;
+
+public record ResourceVersion(@NotNull UUID id, @NotNull Long version, Instant lastModified) {
+
+  public String etag() {
+    return id + "-" + version;
+  }
+}
@@ -0,0 +1,11 @@
+package se.kry.springboot.demo.handson.domain;
+
+public class VersionMismatchException extends IllegalStateException {
+
+  private final ResourceVersion current;
+
+  public VersionMismatchException(ResourceVersion current) {
+    super(String.format("Version %d of %s does not match the precondition", current.version(), current.id()));
+    this.current = current;
+  }
+}
@@ -0,0 +1,6 @@
+package se.kry.springboot.demo.handson.domain;
+
+import javax.validation.constraints.NotNull;
+
+public record Versioned<T>(@NotNull ResourceVersion version, @NotNull T value) {
+}
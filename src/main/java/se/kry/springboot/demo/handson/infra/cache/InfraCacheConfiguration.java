@@ -0,0 +1,14 @@
+package se.kry.springboot.demo.handson.infra.cache;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class InfraCacheConfiguration {
+
+  public interface CacheNames {
+    String EVENTS = "events";
+    String PEOPLE = "people";
+  }
+}
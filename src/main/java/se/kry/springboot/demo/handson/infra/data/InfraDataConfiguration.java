@@ -5,6 +5,7 @@ import java.util.Optional;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.auditing.DateTimeProvider;
+import org.springframework.util.IdGenerator;
 
 @Configuration
 public class InfraDataConfiguration {
@@ -18,4 +19,9 @@ public class InfraDataConfiguration {
     return () -> Optional.of(clock.instant());
   }
 
+  @Bean
+  IdGenerator idGenerator(Clock clock) {
+    return new TimeOrderedIdGenerator(clock);
+  }
+
 }
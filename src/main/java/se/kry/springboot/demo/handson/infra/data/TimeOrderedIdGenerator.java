@@ -0,0 +1,39 @@
+package se.kry.springboot.demo.handson.infra.data;
+
+import java.time.Clock;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.util.IdGenerator;
+
+/**
+ * Generates version 7 UUIDs: a 48-bit millisecond timestamp followed by a 12-bit sequence and 62 random bits.
+ * The timestamp and sequence never go backwards, even when several ids are generated within the same millisecond.
+ */
+public class TimeOrderedIdGenerator implements IdGenerator {
+
+  private static final int SEQUENCE_BITS = 12;
+
+  private final Clock clock;
+
+  private final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+  public TimeOrderedIdGenerator(Clock clock) {
+    this.clock = clock;
+  }
+
+  @Override
+  public UUID generateId() {
+    var now = clock.millis() << SEQUENCE_BITS;
+    long last;
+    long next;
+    do {
+      last = lastTimestampAndSequence.get();
+      next = Math.max(last + 1, now);
+    } while (!lastTimestampAndSequence.compareAndSet(last, next));
+
+    var mostSigBits = (next >>> SEQUENCE_BITS) << 16 | 0x7000L | (next & 0xfffL);
+    var leastSigBits = ThreadLocalRandom.current().nextLong() & 0x3fffffffffffffffL | 0x8000000000000000L;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+}
@@ -0,0 +1,130 @@
+package se.kry.springboot.demo.handson.infra.data.r2dbc;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import reactor.pool.AllocationStrategy;
+
+/**
+ * Allocation strategy whose effective size moves between a minimum and a maximum from observed acquire times. Once
+ * per interval, the limit grows by a quarter when an acquisition timed out or the average acquire time exceeded the
+ * target, and shrinks by one when it stayed under half of it. Shrinking never closes connections: it stops new
+ * allocations until enough are released or evicted.
+ */
+class AdaptiveAllocationStrategy implements AllocationStrategy {
+
+  private final int minimum;
+
+  private final int maximum;
+
+  private final long targetNanos;
+
+  private final long intervalNanos;
+
+  private final AtomicInteger granted = new AtomicInteger();
+
+  private final LongAdder acquireNanos = new LongAdder();
+
+  private final LongAdder acquireCount = new LongAdder();
+
+  private final LongAdder timeoutCount = new LongAdder();
+
+  private final AtomicLong nextAdjustment;
+
+  private volatile int limit;
+
+  AdaptiveAllocationStrategy(int minimum, int maximum, Duration target, Duration interval) {
+    if (minimum < 0 || maximum < 1 || minimum > maximum) {
+      throw new IllegalArgumentException("Invalid pool bounds: " + minimum + ".." + maximum);
+    }
+    this.minimum = minimum;
+    this.maximum = maximum;
+    this.targetNanos = target.toNanos();
+    this.intervalNanos = interval.toNanos();
+    this.nextAdjustment = new AtomicLong(System.nanoTime() + intervalNanos);
+    this.limit = Math.max(minimum, 1);
+  }
+
+  void onAcquire(long nanos) {
+    onAcquire(nanos, false);
+  }
+
+  void onAcquire(long nanos, boolean timedOut) {
+    acquireNanos.add(nanos);
+    acquireCount.increment();
+    if (timedOut) {
+      timeoutCount.increment();
+    }
+    var now = System.nanoTime();
+    var next = nextAdjustment.get();
+    if (now - next >= 0 && nextAdjustment.compareAndSet(next, now + intervalNanos)) {
+      adjust();
+    }
+  }
+
+  int limit() {
+    return limit;
+  }
+
+  private void adjust() {
+    var count = acquireCount.sumThenReset();
+    var total = acquireNanos.sumThenReset();
+    var timeouts = timeoutCount.sumThenReset();
+    if (count == 0) {
+      return;
+    }
+    var average = total / count;
+    var current = limit;
+    if (timeouts > 0 || average > targetNanos) {
+      limit = Math.min(maximum, current + Math.max(1, current / 4));
+    } else if (average < targetNanos / 2) {
+      limit = Math.max(Math.max(minimum, 1), current - 1);
+    }
+  }
+
+  @Override
+  public int estimatePermitCount() {
+    return Math.max(0, limit - granted.get());
+  }
+
+  @Override
+  public int getPermits(int desired) {
+    if (desired < 0) {
+      return 0;
+    }
+    for (;;) {
+      var current = granted.get();
+      var permits = Math.min(Math.max(desired, minimum - current), limit - current);
+      if (permits <= 0) {
+        return 0;
+      }
+      if (granted.compareAndSet(current, current + permits)) {
+        return permits;
+      }
+    }
+  }
+
+  @Override
+  public int permitGranted() {
+    return granted.get();
+  }
+
+  @Override
+  public int permitMinimum() {
+    return minimum;
+  }
+
+  @Override
+  public int permitMaximum() {
+    return maximum;
+  }
+
+  @Override
+  public void returnPermits(int returned) {
+    if (granted.addAndGet(-returned) < 0) {
+      granted.addAndGet(returned);
+      throw new IllegalArgumentException("Too many permits returned: " + returned);
+    }
+  }
+}
@@ -0,0 +1,88 @@
+package se.kry.springboot.demo.handson.infra.data.r2dbc;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import java.time.Duration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+
+/**
+ * Decorates connection pools with an acquire timer and, when adaptive sizing is enabled, rebuilds them from the
+ * {@code spring.r2dbc.pool.*} properties with an {@link AdaptiveAllocationStrategy}.
+ */
+class ConnectionPoolPostProcessor implements BeanPostProcessor {
+
+  private static final Duration ADJUSTMENT_INTERVAL = Duration.ofSeconds(1);
+
+  private final ObjectProvider<MeterRegistry> meterRegistry;
+
+  private final ObjectProvider<R2dbcProperties> properties;
+
+  private final boolean adaptive;
+
+  private final Duration targetAcquireTime;
+
+  ConnectionPoolPostProcessor(ObjectProvider<MeterRegistry> meterRegistry,
+                              ObjectProvider<R2dbcProperties> properties,
+                              boolean adaptive,
+                              Duration targetAcquireTime) {
+    this.meterRegistry = meterRegistry;
+    this.properties = properties;
+    this.adaptive = adaptive;
+    this.targetAcquireTime = targetAcquireTime;
+  }
+
+  @Override
+  public Object postProcessAfterInitialization(Object bean, String beanName) {
+    if (!(bean instanceof ConnectionPool pool)) {
+      return bean;
+    }
+    var registry = meterRegistry.getIfAvailable();
+    if (registry == null) {
+      return bean;
+    }
+
+    ConnectionFactory connectionFactory = pool;
+    var acquireListener = TimedConnectionFactory.AcquireListener.NONE;
+    if (adaptive) {
+      var poolProperties = properties.getObject().getPool();
+      var strategy = new AdaptiveAllocationStrategy(
+          poolProperties.getInitialSize(), poolProperties.getMaxSize(), targetAcquireTime, ADJUSTMENT_INTERVAL);
+      pool.dispose();
+      connectionFactory = new ConnectionPool(configuration(pool.unwrap(), poolProperties, strategy));
+      acquireListener = strategy::onAcquire;
+      Gauge.builder("r2dbc.pool.adaptive.limit", strategy, AdaptiveAllocationStrategy::limit)
+          .description("Current connection limit chosen by the adaptive allocation strategy")
+          .tag("name", beanName)
+          .register(registry);
+    }
+
+    var acquireTimer = Timer.builder("r2dbc.pool.acquire")
+        .description("Time to acquire a connection from the pool")
+        .tag("name", beanName)
+        .register(registry);
+    return new TimedConnectionFactory(connectionFactory, acquireTimer, acquireListener);
+  }
+
+  static ConnectionPoolConfiguration configuration(ConnectionFactory connectionFactory,
+                                                   R2dbcProperties.Pool pool,
+                                                   AdaptiveAllocationStrategy strategy) {
+    var builder = ConnectionPoolConfiguration.builder(connectionFactory);
+    var map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+    map.from(pool.getMaxIdleTime()).to(builder::maxIdleTime);
+    map.from(pool.getMaxLifeTime()).to(builder::maxLifeTime);
+    map.from(pool.getMaxAcquireTime()).to(builder::maxAcquireTime);
+    map.from(pool.getMaxCreateConnectionTime()).to(builder::maxCreateConnectionTime);
+    map.from(pool.getInitialSize()).to(builder::initialSize);
+    map.from(pool.getMaxSize()).to(builder::maxSize);
+    map.from(pool.getValidationQuery()).whenHasText().to(builder::validationQuery);
+    map.from(pool.getValidationDepth()).to(builder::validationDepth);
+    return builder.customizer(poolBuilder -> poolBuilder.allocationStrategy(strategy)).build();
+  }
+}
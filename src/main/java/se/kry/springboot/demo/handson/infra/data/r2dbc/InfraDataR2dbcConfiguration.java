@@ -1,10 +1,41 @@
 package se.kry.springboot.demo.handson.infra.data.r2dbc;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.r2dbc.config.EnableR2dbcAuditing;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.DialectResolver;
+import org.springframework.data.r2dbc.dialect.MySqlDialect;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
+import org.springframework.r2dbc.core.DatabaseClient;
 import se.kry.springboot.demo.handson.infra.data.InfraDataConfiguration;
 
 @Configuration
 @EnableR2dbcAuditing(dateTimeProviderRef = InfraDataConfiguration.BeanNames.DATE_TIME_PROVIDER_NAME)
 public class InfraDataR2dbcConfiguration {
+
+  @Bean
+  static ConnectionPoolPostProcessor connectionPoolPostProcessor(
+      ObjectProvider<MeterRegistry> meterRegistry,
+      ObjectProvider<R2dbcProperties> properties,
+      @Value("${handson.data.pool.adaptive}") boolean adaptive,
+      @Value("${handson.data.pool.target-acquire-time}") Duration targetAcquireTime) {
+    return new ConnectionPoolPostProcessor(meterRegistry, properties, adaptive, targetAcquireTime);
+  }
+
+  @Bean
+  R2dbcCustomConversions r2dbcCustomConversions(DatabaseClient databaseClient) {
+    return customConversions(DialectResolver.getDialect(databaseClient.getConnectionFactory()));
+  }
+
+  static R2dbcCustomConversions customConversions(R2dbcDialect dialect) {
+    return R2dbcCustomConversions.of(dialect,
+        dialect instanceof MySqlDialect ? UuidConverters.binaryConverters() : List.of());
+  }
 }
@@ -0,0 +1,83 @@
+package se.kry.springboot.demo.handson.infra.data.r2dbc;
+
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import io.r2dbc.spi.Wrapped;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Times every connection acquisition, from subscription to the connection being handed out, the acquisition failing or
+ * the caller giving up, and reports it to a listener together with whether it timed out. Stays {@link Wrapped} so that pool gauges can still find the underlying pool, and forwards
+ * disposal to it.
+ */
+class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable {
+
+  private final ConnectionFactory delegate;
+
+  private final Timer acquireTimer;
+
+  private final AcquireListener acquireListener;
+
+  TimedConnectionFactory(ConnectionFactory delegate, Timer acquireTimer, AcquireListener acquireListener) {
+    this.delegate = delegate;
+    this.acquireTimer = acquireTimer;
+    this.acquireListener = acquireListener;
+  }
+
+  @Override
+  public Mono<Connection> create() {
+    return Mono.defer(() -> {
+      var start = System.nanoTime();
+      var reported = new AtomicBoolean();
+      Consumer<Boolean> report = timedOut -> {
+        if (reported.compareAndSet(false, true)) {
+          var elapsed = System.nanoTime() - start;
+          acquireTimer.record(elapsed, TimeUnit.NANOSECONDS);
+          acquireListener.onAcquire(elapsed, timedOut);
+        }
+      };
+      return Mono.<Connection>from(delegate.create())
+          .doOnSuccess(connection -> report.accept(false))
+          .doOnError(e -> report.accept(isTimeout(e)))
+          .doOnCancel(() -> report.accept(false));
+    });
+  }
+
+  private static boolean isTimeout(Throwable e) {
+    return e instanceof R2dbcTimeoutException || e instanceof TimeoutException;
+  }
+
+  @Override
+  public ConnectionFactoryMetadata getMetadata() {
+    return delegate.getMetadata();
+  }
+
+  @Override
+  public ConnectionFactory unwrap() {
+    return delegate;
+  }
+
+  @Override
+  public void dispose() {
+    if (delegate instanceof Disposable disposable) {
+      disposable.dispose();
+    }
+  }
+
+  @FunctionalInterface
+  interface AcquireListener {
+
+    AcquireListener NONE = (nanos, timedOut) -> {
+    };
+
+    void onAcquire(long nanos, boolean timedOut);
+  }
+}
@@ -0,0 +1,40 @@
+package se.kry.springboot.demo.handson.infra.data.r2dbc;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.UUID;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.convert.WritingConverter;
+
+enum UuidConverters {
+  ;
+
+  static List<Converter<?, ?>> binaryConverters() {
+    return List.of(UuidToBytesConverter.INSTANCE, BytesToUuidConverter.INSTANCE);
+  }
+
+  @WritingConverter
+  enum UuidToBytesConverter implements Converter<UUID, byte[]> {
+    INSTANCE;
+
+    @Override
+    public byte[] convert(UUID source) {
+      return ByteBuffer.allocate(16)
+          .putLong(source.getMostSignificantBits())
+          .putLong(source.getLeastSignificantBits())
+          .array();
+    }
+  }
+
+  @ReadingConverter
+  enum BytesToUuidConverter implements Converter<byte[], UUID> {
+    INSTANCE;
+
+    @Override
+    public UUID convert(byte[] source) {
+      var buffer = ByteBuffer.wrap(source);
+      return new UUID(buffer.getLong(), buffer.getLong());
+    }
+  }
+}
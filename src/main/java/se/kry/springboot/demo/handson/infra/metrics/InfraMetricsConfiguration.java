@@ -0,0 +1,30 @@
+package se.kry.springboot.demo.handson.infra.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+@Configuration
+public class InfraMetricsConfiguration {
+
+  public interface MeterNames {
+    String CALLS = "handson.calls";
+    String ROWS = "handson.rows";
+  }
+
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  static Advisor reactiveMetricsAdvisor(ObjectProvider<MeterRegistry> meterRegistry) {
+    var advisor = new DefaultPointcutAdvisor(
+        new ReactiveMetricsPointcut(),
+        new ReactiveMetricsInterceptor(meterRegistry::getObject));
+    advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return advisor;
+  }
+}
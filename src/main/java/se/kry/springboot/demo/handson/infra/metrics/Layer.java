@@ -0,0 +1,26 @@
+package se.kry.springboot.demo.handson.infra.metrics;
+
+import java.util.Locale;
+import java.util.Optional;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Service;
+
+enum Layer {
+  SERVICE,
+  REPOSITORY;
+
+  static Optional<Layer> of(Class<?> clazz) {
+    if (Repository.class.isAssignableFrom(clazz)) {
+      return Optional.of(REPOSITORY);
+    }
+    if (AnnotatedElementUtils.hasAnnotation(clazz, Service.class)) {
+      return Optional.of(SERVICE);
+    }
+    return Optional.empty();
+  }
+
+  String tagValue() {
+    return name().toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,170 @@
+package se.kry.springboot.demo.handson.infra.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.core.MethodClassKey;
+import org.springframework.util.ClassUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Signal;
+import se.kry.springboot.demo.handson.infra.metrics.InfraMetricsConfiguration.MeterNames;
+
+/**
+ * Records a {@link MeterNames#CALLS} timer, from subscription to termination, and a {@link MeterNames#ROWS} summary
+ * of emitted elements for every intercepted call. Meters are resolved once per target class and method.
+ */
+class ReactiveMetricsInterceptor implements MethodInterceptor {
+
+  private final Supplier<MeterRegistry> meterRegistry;
+
+  private final Map<MethodClassKey, MethodMeters> meters = new ConcurrentHashMap<>();
+
+  ReactiveMetricsInterceptor(Supplier<MeterRegistry> meterRegistry) {
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    var methodMeters = meters.computeIfAbsent(
+        new MethodClassKey(invocation.getMethod(), invocation.getThis().getClass()),
+        key -> newMethodMeters(invocation));
+
+    Object result;
+    try {
+      result = invocation.proceed();
+    } catch (Throwable throwable) {
+      methodMeters.error(throwable).record(0, TimeUnit.NANOSECONDS);
+      throw throwable;
+    }
+
+    if (result instanceof Mono<?> mono) {
+      return Mono.defer(() -> {
+        var recording = new Recording(methodMeters);
+        return mono.doOnEach(recording::onSignal).doOnCancel(recording::onCancel);
+      });
+    }
+    if (result instanceof Flux<?> flux) {
+      return Flux.defer(() -> {
+        var recording = new Recording(methodMeters);
+        return flux.doOnEach(recording::onSignal).doOnCancel(recording::onCancel);
+      });
+    }
+    return result;
+  }
+
+  private MethodMeters newMethodMeters(MethodInvocation invocation) {
+    var userClass = userClass(invocation.getThis());
+    var tags = Tags.of(
+        "layer", Layer.of(userClass).map(Layer::tagValue).orElse("none"),
+        "class", userClass.getSimpleName(),
+        "method", invocation.getMethod().getName());
+    return new MethodMeters(meterRegistry.get(), tags);
+  }
+
+  private static Class<?> userClass(Object target) {
+    if (Proxy.isProxyClass(target.getClass())) {
+      return AopProxyUtils.proxiedUserInterfaces(target)[0];
+    }
+    return ClassUtils.getUserClass(target);
+  }
+
+  private static class MethodMeters {
+
+    private final MeterRegistry registry;
+
+    private final Tags tags;
+
+    private final Timer success;
+
+    private volatile Timer cancelled;
+
+    private final DistributionSummary rows;
+
+    private final Map<Class<?>, Timer> errors = new ConcurrentHashMap<>();
+
+    MethodMeters(MeterRegistry registry, Tags tags) {
+      this.registry = registry;
+      this.tags = tags;
+      this.success = timer("SUCCESS", "none");
+      this.rows = DistributionSummary.builder(MeterNames.ROWS)
+          .description("Elements emitted by reactive service and repository calls")
+          .baseUnit("rows")
+          .tags(tags)
+          .register(registry);
+    }
+
+    Timer cancelled() {
+      var timer = cancelled;
+      if (timer == null) {
+        timer = timer("CANCELLED", "none");
+        cancelled = timer;
+      }
+      return timer;
+    }
+
+    Timer error(Throwable throwable) {
+      return errors.computeIfAbsent(throwable.getClass(), type -> timer("ERROR", type.getSimpleName()));
+    }
+
+    private Timer timer(String outcome, String exception) {
+      return Timer.builder(MeterNames.CALLS)
+          .description("Reactive service and repository calls, from subscription to termination")
+          .tags(tags)
+          .tag("outcome", outcome)
+          .tag("exception", exception)
+          .register(registry);
+    }
+  }
+
+  private static class Recording {
+
+    private final MethodMeters meters;
+
+    private final long start = System.nanoTime();
+
+    private final AtomicLong rows = new AtomicLong();
+
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    Recording(MethodMeters meters) {
+      this.meters = meters;
+    }
+
+    void onSignal(Signal<?> signal) {
+      switch (signal.getType()) {
+        case ON_NEXT -> rows.incrementAndGet();
+        case ON_COMPLETE -> stop(meters.success);
+        case ON_ERROR -> stop(meters.error(signal.getThrowable()));
+        default -> {
+        }
+      }
+    }
+
+    void onCancel() {
+      stop(meters.cancelled());
+    }
+
+    /**
+     * Records once, as a cancellation may race with the completion or error signal.
+     */
+    private void stop(Timer timer) {
+      if (!done.compareAndSet(false, true)) {
+        return;
+      }
+      timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      meters.rows.record(rows.get());
+    }
+  }
+}
@@ -0,0 +1,20 @@
+package se.kry.springboot.demo.handson.infra.metrics;
+
+import java.lang.reflect.Method;
+import org.reactivestreams.Publisher;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+
+/**
+ * Matches methods returning a {@link Publisher} on services and Spring Data repositories.
+ */
+class ReactiveMetricsPointcut extends StaticMethodMatcherPointcut {
+
+  ReactiveMetricsPointcut() {
+    setClassFilter(clazz -> Layer.of(clazz).isPresent());
+  }
+
+  @Override
+  public boolean matches(Method method, Class<?> targetClass) {
+    return Publisher.class.isAssignableFrom(method.getReturnType());
+  }
+}
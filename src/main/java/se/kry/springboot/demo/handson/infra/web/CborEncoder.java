@@ -0,0 +1,41 @@
+package se.kry.springboot.demo.handson.infra.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link Jackson2CborEncoder} that writes a {@code Flux} as one CBOR array, the way the JSON encoder does for
+ * non-streaming media types, instead of refusing it.
+ */
+class CborEncoder extends Jackson2CborEncoder {
+
+  CborEncoder(ObjectMapper mapper, MimeType... mimeTypes) {
+    super(mapper, mimeTypes);
+  }
+
+  @Override
+  public Flux<DataBuffer> encode(Publisher<?> inputStream,
+                                 DataBufferFactory bufferFactory,
+                                 ResolvableType elementType,
+                                 @Nullable MimeType mimeType,
+                                 @Nullable Map<String, Object> hints) {
+    if (inputStream instanceof Mono<?> mono) {
+      return mono.map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints)).flux();
+    }
+    var listType = ResolvableType.forClassWithGenerics(List.class, elementType);
+    return Flux.from(inputStream)
+        .collectList()
+        .map(list -> encodeValue(list, bufferFactory, listType, mimeType, hints))
+        .flux();
+  }
+}
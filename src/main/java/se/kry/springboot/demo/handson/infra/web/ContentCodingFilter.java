@@ -0,0 +1,92 @@
+package se.kry.springboot.demo.handson.infra.web;
+
+import java.util.List;
+import java.util.Locale;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+import se.kry.springboot.demo.handson.infra.web.InfraWebConfiguration.ExchangeAttributes;
+
+/**
+ * Makes responses that the server may compress cacheable by shared caches. Reactor Netty picks the content coding from
+ * {@code Accept-Encoding} but does not add {@code Vary: Accept-Encoding}, so this filter does, for the compressible
+ * media types and for 304 responses, which carry the same {@code Vary} as the full response. It also resolves the
+ * coding the way Netty does, gzip before deflate on equal quality, and exposes it as an exchange attribute so that
+ * validators can be made specific to it.
+ */
+class ContentCodingFilter implements WebFilter {
+
+  private final List<MediaType> compressibleTypes;
+
+  ContentCodingFilter(List<MediaType> compressibleTypes) {
+    this.compressibleTypes = compressibleTypes;
+  }
+
+  @Override
+  public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+    var contentCoding = contentCoding(exchange.getRequest().getHeaders().get(HttpHeaders.ACCEPT_ENCODING));
+    if (contentCoding != null) {
+      exchange.getAttributes().put(ExchangeAttributes.CONTENT_CODING, contentCoding);
+    }
+    var response = exchange.getResponse();
+    response.beforeCommit(() -> {
+      var headers = response.getHeaders();
+      if ((isCompressible(headers.getContentType()) || response.getStatusCode() == HttpStatus.NOT_MODIFIED)
+          && !headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING)) {
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+      }
+      return Mono.empty();
+    });
+    return chain.filter(exchange);
+  }
+
+  private boolean isCompressible(MediaType contentType) {
+    return contentType != null && compressibleTypes.stream().anyMatch(type -> type.isCompatibleWith(contentType));
+  }
+
+  static String contentCoding(List<String> acceptEncoding) {
+    if (acceptEncoding == null) {
+      return null;
+    }
+    var gzip = -1f;
+    var deflate = -1f;
+    var any = -1f;
+    for (var value : acceptEncoding) {
+      for (var coding : StringUtils.tokenizeToStringArray(value, ",")) {
+        var parts = StringUtils.tokenizeToStringArray(coding, ";");
+        var quality = quality(parts);
+        switch (parts[0].toLowerCase(Locale.ROOT)) {
+          case "gzip", "x-gzip" -> gzip = quality;
+          case "deflate" -> deflate = quality;
+          case "*" -> any = quality;
+          default -> {
+          }
+        }
+      }
+    }
+    gzip = gzip < 0 ? any : gzip;
+    deflate = deflate < 0 ? any : deflate;
+    if (gzip <= 0 && deflate <= 0) {
+      return null;
+    }
+    return gzip >= deflate ? "gzip" : "deflate";
+  }
+
+  private static float quality(String[] parts) {
+    for (var i = 1; i < parts.length; i++) {
+      if (parts[i].startsWith("q=")) {
+        try {
+          return Float.parseFloat(parts[i].substring(2));
+        } catch (NumberFormatException e) {
+          return 0;
+        }
+      }
+    }
+    return 1;
+  }
+}
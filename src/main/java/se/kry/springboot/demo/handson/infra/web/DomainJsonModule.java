@@ -0,0 +1,137 @@
+package se.kry.springboot.demo.handson.infra.web;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.ser.Serializers;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import se.kry.springboot.demo.handson.domain.EventCreationRequest;
+import se.kry.springboot.demo.handson.domain.EventResponse;
+import se.kry.springboot.demo.handson.domain.EventUpdateRequest;
+import se.kry.springboot.demo.handson.domain.PersonCreationRequest;
+import se.kry.springboot.demo.handson.domain.PersonResponse;
+import se.kry.springboot.demo.handson.domain.PersonUpdateRequest;
+
+/**
+ * Hand-written codecs for the records on the hot request paths, replacing reflective bean serialization, creator
+ * property buffering and {@code Optional} reference deserializers. Every object mapper gets its own codec instances,
+ * which resolve the {@code UUID} and {@code JavaTimeModule} codecs of that mapper once. Date-times in the canonical
+ * ISO layout are written and read through {@link IsoDateTimes}, everything else is left to {@code JavaTimeModule}.
+ */
+@Component
+public class DomainJsonModule extends Module {
+
+  private static final Map<Class<?>, Supplier<JsonSerializer<?>>> SERIALIZERS = Map.of(
+      EventResponse.class, EventJson.ResponseSerializer::new,
+      PersonResponse.class, PersonJson.ResponseSerializer::new);
+
+  private static final Map<Class<?>, Supplier<JsonDeserializer<?>>> DESERIALIZERS = Map.of(
+      EventCreationRequest.class, EventJson.CreationRequestDeserializer::new,
+      EventUpdateRequest.class, EventJson.UpdateRequestDeserializer::new,
+      PersonCreationRequest.class, PersonJson.CreationRequestDeserializer::new,
+      PersonUpdateRequest.class, PersonJson.UpdateRequestDeserializer::new);
+
+  @Override
+  public String getModuleName() {
+    return "handson-domain";
+  }
+
+  @Override
+  public Version version() {
+    return Version.unknownVersion();
+  }
+
+  @Override
+  public void setupModule(SetupContext context) {
+    context.addSerializers(new Serializers.Base() {
+      @Override
+      public JsonSerializer<?> findSerializer(SerializationConfig config, JavaType type, BeanDescription beanDesc) {
+        var serializer = SERIALIZERS.get(type.getRawClass());
+        return serializer == null ? null : serializer.get();
+      }
+    });
+    context.addDeserializers(new Deserializers.Base() {
+      @Override
+      public JsonDeserializer<?> findBeanDeserializer(JavaType type, DeserializationConfig config,
+                                                      BeanDescription beanDesc) {
+        var deserializer = DESERIALIZERS.get(type.getRawClass());
+        return deserializer == null ? null : deserializer.get();
+      }
+    });
+  }
+
+  static void writeValue(JsonSerializer<Object> serializer, Object value, JsonGenerator gen,
+                         SerializerProvider provider) throws IOException {
+    if (value == null) {
+      provider.defaultSerializeNull(gen);
+    } else {
+      serializer.serialize(value, gen, provider);
+    }
+  }
+
+  static void writeDateTime(LocalDateTime value, JsonSerializer<Object> serializer, boolean iso, JsonGenerator gen,
+                            SerializerProvider provider) throws IOException {
+    if (value != null && iso) {
+      var buffer = new char[IsoDateTimes.MAX_LENGTH];
+      var length = IsoDateTimes.format(value, buffer);
+      if (length > 0) {
+        gen.writeString(buffer, 0, length);
+        return;
+      }
+    }
+    writeValue(serializer, value, gen, provider);
+  }
+
+  static LocalDateTime readDateTime(JsonDeserializer<Object> deserializer, JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+    if (p.hasToken(JsonToken.VALUE_STRING)) {
+      var value = IsoDateTimes.parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+      if (value != null) {
+        return value;
+      }
+    }
+    return readValue(deserializer, p, ctxt);
+  }
+
+  static String firstFieldName(JsonParser p, DeserializationContext ctxt, Class<?> type) throws IOException {
+    if (p.isExpectedStartObjectToken()) {
+      return p.nextFieldName();
+    }
+    if (p.hasToken(JsonToken.FIELD_NAME)) {
+      return p.currentName();
+    }
+    throw ctxt.wrongTokenException(p, type, JsonToken.START_OBJECT, null);
+  }
+
+  static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+    if (p.hasToken(JsonToken.VALUE_STRING)) {
+      return p.getText();
+    }
+    if (p.hasToken(JsonToken.VALUE_NULL)) {
+      return null;
+    }
+    return StringDeserializer.instance.deserialize(p, ctxt);
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T> T readValue(JsonDeserializer<Object> deserializer, JsonParser p, DeserializationContext ctxt)
+      throws IOException {
+    return p.hasToken(JsonToken.VALUE_NULL) ? null : (T) deserializer.deserialize(p, ctxt);
+  }
+}
@@ -0,0 +1,147 @@
+package se.kry.springboot.demo.handson.infra.web;
+
+import static se.kry.springboot.demo.handson.infra.web.DomainJsonModule.firstFieldName;
+import static se.kry.springboot.demo.handson.infra.web.DomainJsonModule.readDateTime;
+import static se.kry.springboot.demo.handson.infra.web.DomainJsonModule.readString;
+import static se.kry.springboot.demo.handson.infra.web.DomainJsonModule.writeDateTime;
+import static se.kry.springboot.demo.handson.infra.web.DomainJsonModule.writeValue;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+import se.kry.springboot.demo.handson.domain.EventCreationRequest;
+import se.kry.springboot.demo.handson.domain.EventResponse;
+import se.kry.springboot.demo.handson.domain.EventUpdateRequest;
+
+enum EventJson {
+  ;
+
+  private static final SerializedString ID = new SerializedString("id");
+
+  private static final SerializedString TITLE = new SerializedString("title");
+
+  private static final SerializedString START_TIME = new SerializedString("startTime");
+
+  private static final SerializedString END_TIME = new SerializedString("endTime");
+
+  static final class ResponseSerializer extends StdSerializer<EventResponse> implements ResolvableSerializer {
+
+    private JsonSerializer<Object> uuidSerializer;
+
+    private JsonSerializer<Object> dateTimeSerializer;
+
+    private boolean isoDateTimes;
+
+    ResponseSerializer() {
+      super(EventResponse.class);
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+      uuidSerializer = provider.findValueSerializer(UUID.class);
+      dateTimeSerializer = provider.findValueSerializer(LocalDateTime.class);
+      isoDateTimes = !provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    @Override
+    public void serialize(EventResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+      gen.writeStartObject(value);
+      gen.writeFieldName(ID);
+      writeValue(uuidSerializer, value.id(), gen, provider);
+      gen.writeFieldName(TITLE);
+      gen.writeString(value.title());
+      gen.writeFieldName(START_TIME);
+      writeDateTime(value.startTime(), dateTimeSerializer, isoDateTimes, gen, provider);
+      gen.writeFieldName(END_TIME);
+      writeDateTime(value.endTime(), dateTimeSerializer, isoDateTimes, gen, provider);
+      gen.writeEndObject();
+    }
+  }
+
+  static final class CreationRequestDeserializer extends StdDeserializer<EventCreationRequest>
+      implements ResolvableDeserializer {
+
+    private JsonDeserializer<Object> dateTimeDeserializer;
+
+    CreationRequestDeserializer() {
+      super(EventCreationRequest.class);
+    }
+
+    @Override
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+      dateTimeDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(LocalDateTime.class));
+    }
+
+    @Override
+    public EventCreationRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      String title = null;
+      LocalDateTime startTime = null;
+      LocalDateTime endTime = null;
+      for (var name = firstFieldName(p, ctxt, handledType()); name != null; name = p.nextFieldName()) {
+        p.nextToken();
+        switch (name) {
+          case "title" -> title = readString(p, ctxt);
+          case "startTime" -> startTime = readDateTime(dateTimeDeserializer, p, ctxt);
+          case "endTime" -> endTime = readDateTime(dateTimeDeserializer, p, ctxt);
+          default -> ctxt.handleUnknownProperty(p, this, handledType(), name);
+        }
+      }
+      try {
+        return new EventCreationRequest(title, startTime, endTime);
+      } catch (RuntimeException e) {
+        return (EventCreationRequest) ctxt.handleInstantiationProblem(handledType(), null, e);
+      }
+    }
+  }
+
+  static final class UpdateRequestDeserializer extends StdDeserializer<EventUpdateRequest>
+      implements ResolvableDeserializer {
+
+    private JsonDeserializer<Object> dateTimeDeserializer;
+
+    UpdateRequestDeserializer() {
+      super(EventUpdateRequest.class);
+    }
+
+    @Override
+    public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+      dateTimeDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(LocalDateTime.class));
+    }
+
+    @Override
+    public EventUpdateRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      String title = null;
+      LocalDateTime startTime = null;
+      LocalDateTime endTime = null;
+      for (var name = firstFieldName(p, ctxt, handledType()); name != null; name = p.nextFieldName()) {
+        p.nextToken();
+        switch (name) {
+          case "title" -> title = readString(p, ctxt);
+          case "startTime" -> startTime = readDateTime(dateTimeDeserializer, p, ctxt);
+          case "endTime" -> endTime = readDateTime(dateTimeDeserializer, p, ctxt);
+          default -> ctxt.handleUnknownProperty(p, this, handledType(), name);
+        }
+      }
+      try {
+        return new EventUpdateRequest(Optional.ofNullable(title), Optional.ofNullable(startTime),
+            Optional.ofNullable(endTime));
+      } catch (RuntimeException e) {
+        return (EventUpdateRequest) ctxt.handleInstantiationProblem(handledType(), null, e);
+      }
+    }
+  }
+}
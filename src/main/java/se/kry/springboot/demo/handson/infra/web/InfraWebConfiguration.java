@@ -1,15 +1,89 @@
 package se.kry.springboot.demo.handson.infra.web;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.MappingJsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.List;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.web.ReactivePageableHandlerMethodArgumentResolver;
+import org.springframework.format.FormatterRegistry;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerCodecConfigurer;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.MimeType;
 import org.springframework.web.reactive.config.WebFluxConfigurer;
 import org.springframework.web.reactive.result.method.annotation.ArgumentResolverConfigurer;
+import org.springframework.web.server.WebFilter;
+import se.kry.springboot.demo.handson.domain.EventCursor;
+import se.kry.springboot.demo.handson.domain.PersonCursor;
 
 @Configuration
 public class InfraWebConfiguration implements WebFluxConfigurer {
 
+  public interface ExchangeAttributes {
+    String CONTENT_CODING = InfraWebConfiguration.class.getName() + ".contentCoding";
+  }
+
+  private static final MimeType[] SMILE_MIME_TYPES = {
+      new MimeType("application", "x-jackson-smile"), new MimeType("application", "stream+x-jackson-smile")};
+
+  private final ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder;
+
+  InfraWebConfiguration(ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder) {
+    this.objectMapperBuilder = objectMapperBuilder;
+  }
+
+  @Bean
+  @ConditionalOnProperty("server.compression.enabled")
+  WebFilter contentCodingFilter(@Value("${server.compression.mime-types}") List<MediaType> compressibleTypes) {
+    return new ContentCodingFilter(compressibleTypes);
+  }
+
   @Override
   public void configureArgumentResolvers(ArgumentResolverConfigurer configurer) {
     configurer.addCustomResolver(new ReactivePageableHandlerMethodArgumentResolver());
   }
+
+  @Override
+  public void addFormatters(FormatterRegistry registry) {
+    registry.addFormatterForFieldType(EventCursor.class, new TokenFormatter<>(EventCursor::token, EventCursor::parse));
+    registry.addFormatterForFieldType(PersonCursor.class, new TokenFormatter<>(PersonCursor::token, PersonCursor::parse));
+  }
+
+  /**
+   * Lets callers negotiate CBOR and Smile next to JSON. All mappers come from the application's builder, so they share
+   * its modules and features. Custom codecs are consulted before the defaults, so JSON is registered again ahead of
+   * CBOR to stay the answer to {@code Accept: *}{@code /*} and to browsers. The JSON encoder, also used for server-sent
+   * events, writes into the response's pooled buffers.
+   */
+  @Override
+  public void configureHttpMessageCodecs(ServerCodecConfigurer configurer) {
+    var smileMapper = objectMapper(new SmileFactory());
+    configurer.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(smileMapper, SMILE_MIME_TYPES));
+    configurer.defaultCodecs().jackson2SmileDecoder(new Jackson2SmileDecoder(smileMapper, SMILE_MIME_TYPES));
+
+    var jsonMapper = objectMapper(new MappingJsonFactory());
+    var jsonEncoder = new PooledJsonEncoder(jsonMapper);
+    configurer.defaultCodecs().jackson2JsonEncoder(jsonEncoder);
+    configurer.customCodecs().registerWithDefaultConfig(jsonEncoder);
+    configurer.customCodecs().registerWithDefaultConfig(new Jackson2JsonDecoder(jsonMapper));
+
+    var cborMapper = objectMapper(new CBORFactory());
+    configurer.customCodecs().registerWithDefaultConfig(new CborEncoder(cborMapper, MediaType.APPLICATION_CBOR));
+    configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder(cborMapper, MediaType.APPLICATION_CBOR));
+  }
+
+  private ObjectMapper objectMapper(JsonFactory factory) {
+    return objectMapperBuilder.getIfAvailable(Jackson2ObjectMapperBuilder::json).factory(factory).build();
+  }
 }
@@ -0,0 +1,102 @@
+package se.kry.springboot.demo.handson.infra.web;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+
+/**
+ * Formats and parses the canonical {@code ISO_LOCAL_DATE_TIME} layout, {@code yyyy-MM-ddTHH:mm:ss[.SSSSSSSSS]} with
+ * trailing fraction zeros stripped, without going through a {@link java.time.format.DateTimeFormatter}. Anything
+ * outside that layout is reported as unsupported so that callers can fall back to the formatter.
+ */
+enum IsoDateTimes {
+  ;
+
+  static final int MAX_LENGTH = 29;
+
+  private static final int[] POWERS_OF_TEN = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000};
+
+  /**
+   * Writes the value into the buffer, returning the number of characters written or {@code -1} if the year needs a
+   * sign or more than four digits.
+   */
+  static int format(LocalDateTime value, char[] buffer) {
+    var year = value.getYear();
+    if (year < 0 || year > 9999) {
+      return -1;
+    }
+    digits(buffer, 0, year, 4);
+    buffer[4] = '-';
+    digits(buffer, 5, value.getMonthValue(), 2);
+    buffer[7] = '-';
+    digits(buffer, 8, value.getDayOfMonth(), 2);
+    buffer[10] = 'T';
+    digits(buffer, 11, value.getHour(), 2);
+    buffer[13] = ':';
+    digits(buffer, 14, value.getMinute(), 2);
+    buffer[16] = ':';
+    digits(buffer, 17, value.getSecond(), 2);
+    var nano = value.getNano();
+    if (nano == 0) {
+      return 19;
+    }
+    buffer[19] = '.';
+    digits(buffer, 20, nano, 9);
+    var end = MAX_LENGTH;
+    while (buffer[end - 1] == '0') {
+      end--;
+    }
+    return end;
+  }
+
+  /**
+   * Parses the characters, returning {@code null} if they are not in the canonical layout or not a valid date-time.
+   */
+  static LocalDateTime parse(char[] text, int offset, int length) {
+    if (length < 19 || length == 20 || length > MAX_LENGTH
+        || text[offset + 4] != '-' || text[offset + 7] != '-' || text[offset + 10] != 'T'
+        || text[offset + 13] != ':' || text[offset + 16] != ':') {
+      return null;
+    }
+    var year = number(text, offset, 4);
+    var month = number(text, offset + 5, 2);
+    var day = number(text, offset + 8, 2);
+    var hour = number(text, offset + 11, 2);
+    var minute = number(text, offset + 14, 2);
+    var second = number(text, offset + 17, 2);
+    var nano = 0;
+    if (length > 19) {
+      var fraction = number(text, offset + 20, length - 20);
+      if (text[offset + 19] != '.' || fraction < 0) {
+        return null;
+      }
+      nano = fraction * POWERS_OF_TEN[MAX_LENGTH - length];
+    }
+    if ((year | month | day | hour | minute | second) < 0) {
+      return null;
+    }
+    try {
+      return LocalDateTime.of(year, month, day, hour, minute, second, nano);
+    } catch (DateTimeException e) {
+      return null;
+    }
+  }
+
+  private static void digits(char[] buffer, int offset, int value, int width) {
+    for (var i = offset + width - 1; i >= offset; i--) {
+      buffer[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+  }
+
+  private static int number(char[] text, int offset, int width) {
+    var value = 0;
+    for (var i = offset; i < offset + width; i++) {
+      var digit = text[i] - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+}
@@ -0,0 +1,96 @@
+package se.kry.springboot.demo.handson.infra.web;
+
+import static se.kry.springboot.demo.handson.infra.web.DomainJsonModule.firstFieldName;
+import static se.kry.springboot.demo.handson.infra.web.DomainJsonModule.readString;
+import static se.kry.springboot.demo.handson.infra.web.DomainJsonModule.writeValue;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+import se.kry.springboot.demo.handson.domain.PersonCreationRequest;
+import se.kry.springboot.demo.handson.domain.PersonResponse;
+import se.kry.springboot.demo.handson.domain.PersonUpdateRequest;
+
+enum PersonJson {
+  ;
+
+  private static final SerializedString ID = new SerializedString("id");
+
+  private static final SerializedString NAME = new SerializedString("name");
+
+  static final class ResponseSerializer extends StdSerializer<PersonResponse> implements ResolvableSerializer {
+
+    private JsonSerializer<Object> uuidSerializer;
+
+    ResponseSerializer() {
+      super(PersonResponse.class);
+    }
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+      uuidSerializer = provider.findValueSerializer(UUID.class);
+    }
+
+    @Override
+    public void serialize(PersonResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+      gen.writeStartObject(value);
+      gen.writeFieldName(ID);
+      writeValue(uuidSerializer, value.id(), gen, provider);
+      gen.writeFieldName(NAME);
+      gen.writeString(value.name());
+      gen.writeEndObject();
+    }
+  }
+
+  static final class CreationRequestDeserializer extends StdDeserializer<PersonCreationRequest> {
+
+    CreationRequestDeserializer() {
+      super(PersonCreationRequest.class);
+    }
+
+    @Override
+    public PersonCreationRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      String name = null;
+      for (var field = firstFieldName(p, ctxt, handledType()); field != null; field = p.nextFieldName()) {
+        p.nextToken();
+        if (field.equals("name")) {
+          name = readString(p, ctxt);
+        } else {
+          ctxt.handleUnknownProperty(p, this, handledType(), field);
+        }
+      }
+      return new PersonCreationRequest(name);
+    }
+  }
+
+  static final class UpdateRequestDeserializer extends StdDeserializer<PersonUpdateRequest> {
+
+    UpdateRequestDeserializer() {
+      super(PersonUpdateRequest.class);
+    }
+
+    @Override
+    public PersonUpdateRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      String name = null;
+      for (var field = firstFieldName(p, ctxt, handledType()); field != null; field = p.nextFieldName()) {
+        p.nextToken();
+        if (field.equals("name")) {
+          name = readString(p, ctxt);
+        } else {
+          ctxt.handleUnknownProperty(p, this, handledType(), field);
+        }
+      }
+      return new PersonUpdateRequest(Optional.ofNullable(name));
+    }
+  }
+}
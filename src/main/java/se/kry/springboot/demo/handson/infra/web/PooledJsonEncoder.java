@@ -0,0 +1,73 @@
+package se.kry.springboot.demo.handson.infra.web;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import java.io.IOException;
+import java.util.Map;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.CodecException;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.codec.Hints;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.log.LogFormatUtils;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.lang.Nullable;
+import org.springframework.util.MimeType;
+
+/**
+ * {@link Jackson2JsonEncoder} that writes whole values, such as pages and collected lists, straight into a buffer from
+ * the response's factory. On Reactor Netty that is a pooled direct buffer, so large bodies skip the heap byte array
+ * and the copy out of it. JSON views, filters and streamed elements keep the default path.
+ */
+class PooledJsonEncoder extends Jackson2JsonEncoder {
+
+  private static final int INITIAL_CAPACITY = 4096;
+
+  PooledJsonEncoder(ObjectMapper mapper) {
+    super(mapper);
+  }
+
+  @Override
+  public DataBuffer encodeValue(Object value,
+                                DataBufferFactory bufferFactory,
+                                ResolvableType valueType,
+                                @Nullable MimeType mimeType,
+                                @Nullable Map<String, Object> hints) {
+    var mapper = selectObjectMapper(valueType, mimeType);
+    if (mapper == null || value instanceof MappingJacksonValue || (hints != null && hints.containsKey(JSON_VIEW_HINT))) {
+      return super.encodeValue(value, bufferFactory, valueType, mimeType, hints);
+    }
+
+    var javaType = getJavaType(valueType.getType(), null);
+    var writer = customizeWriter(
+        javaType.isContainerType() ? mapper.writerFor(javaType) : mapper.writer(), mimeType, valueType, hints);
+    if (!Hints.isLoggingSuppressed(hints)) {
+      LogFormatUtils.traceDebug(logger, traceOn ->
+          Hints.getLogPrefix(hints) + "Encoding [" + LogFormatUtils.formatValue(value, !traceOn) + "]");
+    }
+
+    var buffer = bufferFactory.allocateBuffer(INITIAL_CAPACITY);
+    var release = true;
+    try {
+      var generator = mapper.getFactory().createGenerator(buffer.asOutputStream(), getJsonEncoding(mimeType));
+      writer.writeValue(generator, value);
+      generator.close();
+      release = false;
+      return buffer;
+    } catch (InvalidDefinitionException e) {
+      throw new CodecException("Type definition error: " + e.getType(), e);
+    } catch (JsonProcessingException e) {
+      throw new EncodingException("JSON encoding error: " + e.getOriginalMessage(), e);
+    } catch (IOException e) {
+      throw new IllegalStateException("Unexpected I/O error while writing to data buffer", e);
+    } finally {
+      if (release) {
+        DataBufferUtils.release(buffer);
+      }
+    }
+  }
+}
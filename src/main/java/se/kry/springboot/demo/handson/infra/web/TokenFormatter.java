@@ -0,0 +1,27 @@
+package se.kry.springboot.demo.handson.infra.web;
+
+import java.util.Locale;
+import java.util.function.Function;
+import org.springframework.format.Formatter;
+
+class TokenFormatter<T> implements Formatter<T> {
+
+  private final Function<T, String> printer;
+
+  private final Function<String, T> parser;
+
+  TokenFormatter(Function<T, String> printer, Function<String, T> parser) {
+    this.printer = printer;
+    this.parser = parser;
+  }
+
+  @Override
+  public String print(T object, Locale locale) {
+    return printer.apply(object);
+  }
+
+  @Override
+  public T parse(String text, Locale locale) {
+    return parser.apply(text);
+  }
+}
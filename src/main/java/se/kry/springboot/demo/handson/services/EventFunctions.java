@@ -1,16 +1,33 @@
 package se.kry.springboot.demo.handson.services;
 
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
 import javax.validation.constraints.NotNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.util.IdGenerator;
 import se.kry.springboot.demo.handson.data.Event;
+import se.kry.springboot.demo.handson.data.Participant;
+import se.kry.springboot.demo.handson.domain.CursorPage;
 import se.kry.springboot.demo.handson.domain.EventCreationRequest;
+import se.kry.springboot.demo.handson.domain.EventCursor;
+import se.kry.springboot.demo.handson.domain.EventParticipantsUpdateRequest;
 import se.kry.springboot.demo.handson.domain.EventResponse;
 import se.kry.springboot.demo.handson.domain.EventUpdateRequest;
+import se.kry.springboot.demo.handson.domain.ResourceVersion;
+import se.kry.springboot.demo.handson.domain.VersionMismatchException;
+import se.kry.springboot.demo.handson.domain.Versioned;
 
 public enum EventFunctions {
   ;
 
-  static Event newEventFromCreationRequest(@NotNull EventCreationRequest eventCreationRequest) {
+  static Event newEventFromCreationRequest(@NotNull UUID id, @NotNull EventCreationRequest eventCreationRequest) {
     return Event.from(
+        id,
         eventCreationRequest.title(),
         eventCreationRequest.startTime(),
         eventCreationRequest.endTime());
@@ -24,7 +41,56 @@ public enum EventFunctions {
     );
   }
 
+  static ResourceVersion versionFromEvent(Event event) {
+    return new ResourceVersion(event.id(), event.version(), event.lastModifiedDate());
+  }
+
+  static Event requireEventVersion(Event event, Predicate<ResourceVersion> precondition) {
+    var version = versionFromEvent(event);
+    if (!precondition.test(version)) {
+      throw new VersionMismatchException(version);
+    }
+    return event;
+  }
+
   static EventResponse responseFromEvent(Event event) {
     return new EventResponse(event.id(), event.title(), event.startTime(), event.endTime());
   }
+
+  static Versioned<EventResponse> versionedResponseFromEvent(Event event) {
+    return new Versioned<>(versionFromEvent(event), responseFromEvent(event));
+  }
+
+  static Slice<EventResponse> sliceFromEvents(List<Event> events, Pageable pageable) {
+    var hasNext = events.size() > pageable.getPageSize();
+    var content = hasNext ? events.subList(0, pageable.getPageSize()) : events;
+    return new SliceImpl<>(content, pageable, hasNext).map(EventFunctions::responseFromEvent);
+  }
+
+  static CursorPage<EventResponse> cursorPageFromEvents(List<Event> events, int size) {
+    if (events.size() <= size) {
+      return new CursorPage<>(events.stream().map(EventFunctions::responseFromEvent).toList(), null);
+    }
+    var content = events.subList(0, size);
+    var last = content.get(size - 1);
+    return new CursorPage<>(
+        content.stream().map(EventFunctions::responseFromEvent).toList(),
+        new EventCursor(last.startTime(), last.id()).token());
+  }
+
+  static Set<UUID> removedParticipants(Set<UUID> currentPersonIds, @NotNull EventParticipantsUpdateRequest request) {
+    var removed = new HashSet<>(currentPersonIds);
+    request.personIds().forEach(removed::remove);
+    return removed;
+  }
+
+  static List<Participant> addedParticipants(@NotNull IdGenerator idGenerator, @NotNull UUID eventId,
+                                             Set<UUID> currentPersonIds,
+                                             @NotNull EventParticipantsUpdateRequest request) {
+    return request.personIds().stream()
+        .distinct()
+        .filter(personId -> !currentPersonIds.contains(personId))
+        .map(personId -> Participant.from(idGenerator.generateId(), eventId, personId))
+        .toList();
+  }
 }
@@ -1,94 +1,270 @@
 package se.kry.springboot.demo.handson.services;
 
+import static se.kry.springboot.demo.handson.services.EventFunctions.addedParticipants;
+import static se.kry.springboot.demo.handson.services.EventFunctions.cursorPageFromEvents;
 import static se.kry.springboot.demo.handson.services.EventFunctions.newEventFromCreationRequest;
+import static se.kry.springboot.demo.handson.services.EventFunctions.removedParticipants;
+import static se.kry.springboot.demo.handson.services.EventFunctions.requireEventVersion;
+import static se.kry.springboot.demo.handson.services.EventFunctions.sliceFromEvents;
 import static se.kry.springboot.demo.handson.services.EventFunctions.updateEventFromUpdateRequest;
+import static se.kry.springboot.demo.handson.util.ReactiveCaches.advanceAfter;
+import static se.kry.springboot.demo.handson.util.ReactiveCaches.evictAfter;
+import static se.kry.springboot.demo.handson.util.ReactiveCaches.load;
+import static se.kry.springboot.demo.handson.util.ReactiveCaches.peek;
 import static se.kry.springboot.demo.handson.util.ReactivePreconditions.requireNonNull;
+import static se.kry.springboot.demo.handson.util.ReactivePreconditions.requireNonNullMany;
+import static se.kry.springboot.demo.handson.util.ReactiveRetries.onOptimisticLockingFailure;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 import javax.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.IdGenerator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import se.kry.springboot.demo.handson.data.Event;
 import se.kry.springboot.demo.handson.data.EventRepository;
 import se.kry.springboot.demo.handson.data.Participant;
 import se.kry.springboot.demo.handson.data.ParticipantRepository;
 import se.kry.springboot.demo.handson.data.PersonRepository;
+import se.kry.springboot.demo.handson.domain.CursorPage;
 import se.kry.springboot.demo.handson.domain.EventCreationRequest;
+import se.kry.springboot.demo.handson.domain.EventCursor;
 import se.kry.springboot.demo.handson.domain.EventParticipantsUpdateRequest;
 import se.kry.springboot.demo.handson.domain.EventResponse;
 import se.kry.springboot.demo.handson.domain.EventUpdateRequest;
 import se.kry.springboot.demo.handson.domain.PersonResponse;
+import se.kry.springboot.demo.handson.domain.ResourceVersion;
+import se.kry.springboot.demo.handson.domain.StartIsAfterEndException;
+import se.kry.springboot.demo.handson.domain.Versioned;
+import se.kry.springboot.demo.handson.infra.cache.InfraCacheConfiguration.CacheNames;
+import se.kry.springboot.demo.handson.util.CacheGenerations;
 
 @Service
 public class EventService {
 
+  private static final long UPDATE_RETRIES = 3;
+
+  private static final Duration LOAD_TIMEOUT = Duration.ofSeconds(10);
+
   private final EventRepository eventRepository;
 
   private final ParticipantRepository participantRepository;
 
   private final PersonRepository personRepository;
 
+  private final IdGenerator idGenerator;
+
+  private final Cache eventCache;
+
+  private final CacheGenerations eventGenerations = new CacheGenerations();
+
+  private final SingleFlight<UUID, Event> eventLoads = new SingleFlight<>(eventGenerations, LOAD_TIMEOUT);
+
+  private final CacheGenerations participantGenerations = new CacheGenerations();
+
+  private final SingleFlight<UUID, PersonResponse> participantLoads =
+      new SingleFlight<>(participantGenerations, LOAD_TIMEOUT);
+
+  private final Mono<Long> eventCount;
+
+  private final boolean participantCountColumn;
+
+  private final boolean participantCountBackfill;
+
   public EventService(EventRepository eventRepository,
                       ParticipantRepository participantRepository,
-                      PersonRepository personRepository) {
+                      PersonRepository personRepository,
+                      IdGenerator idGenerator,
+                      CacheManager cacheManager,
+                      @Value("${handson.services.count-ttl}") Duration countTtl,
+                      @Value("${handson.services.participant-count-column}") boolean participantCountColumn,
+                      @Value("${handson.services.participant-count-backfill}") boolean participantCountBackfill) {
     this.eventRepository = eventRepository;
     this.participantRepository = participantRepository;
     this.personRepository = personRepository;
+    this.idGenerator = idGenerator;
+    this.eventCache = Objects.requireNonNull(cacheManager.getCache(CacheNames.EVENTS));
+    this.eventCount = Mono.defer(eventRepository::count)
+        .cache(count -> countTtl, error -> Duration.ZERO, () -> countTtl);
+    this.participantCountColumn = participantCountColumn;
+    this.participantCountBackfill = participantCountBackfill;
   }
 
   @Transactional
   public Mono<EventResponse> createEvent(@NotNull EventCreationRequest eventCreationRequest) {
-    return requireNonNull(eventCreationRequest).flatMap(p ->
-        eventRepository.save(newEventFromCreationRequest(eventCreationRequest))
+    return requireNonNull(eventCreationRequest, () ->
+        Mono.fromSupplier(() -> newEventFromCreationRequest(idGenerator.generateId(), eventCreationRequest))
+            .flatMap(eventRepository::save)
+            .map(EventFunctions::responseFromEvent));
+  }
+
+  @Transactional
+  public Flux<EventResponse> createEvents(@NotNull List<EventCreationRequest> eventCreationRequests) {
+    return requireNonNullMany(eventCreationRequests, () ->
+        Mono.fromSupplier(() -> eventCreationRequests.stream()
+                .map(request -> newEventFromCreationRequest(idGenerator.generateId(), request))
+                .toList())
+            .flatMapMany(eventRepository::insertAll)
             .map(EventFunctions::responseFromEvent));
   }
 
   public Mono<Page<EventResponse>> getEvents(@NotNull Pageable pageable) {
-    return requireNonNull(pageable).flatMap(p ->
+    return requireNonNull(pageable, () ->
         Mono.zip(
-            eventRepository.count(),
+            eventCount,
             eventRepository.findBy(pageable).collectList(),
             (count, list) -> new PageImpl<>(list, pageable, count).map(EventFunctions::responseFromEvent)));
   }
 
+  public Mono<Page<EventResponse>> getEventsOverlapping(@NotNull LocalDateTime from, @NotNull LocalDateTime to,
+                                                       @NotNull Pageable pageable) {
+    return requireNonNull(from, to, pageable, () -> from.isAfter(to)
+        ? Mono.error(new StartIsAfterEndException(from, to))
+        : Mono.zip(
+            eventRepository.countByStartTimeBeforeAndEndTimeAfter(to, from),
+            eventRepository.findByStartTimeBeforeAndEndTimeAfter(to, from, pageable).collectList(),
+            (count, list) -> new PageImpl<>(list, pageable, count).map(EventFunctions::responseFromEvent)));
+  }
+
+  public Flux<EventResponse> streamEventsOverlapping(@NotNull LocalDateTime from, @NotNull LocalDateTime to) {
+    return requireNonNullMany(from, to, () -> from.isAfter(to)
+        ? Flux.error(new StartIsAfterEndException(from, to))
+        : eventRepository.findByStartTimeBeforeAndEndTimeAfter(to, from, Sort.by("startTime", "id"))
+            .map(EventFunctions::responseFromEvent));
+  }
+
+  public Mono<Slice<EventResponse>> getEventsSlice(@NotNull Pageable pageable) {
+    return requireNonNull(pageable, () ->
+        eventRepository.findSliceBy(pageable).collectList()
+            .map(events -> sliceFromEvents(events, pageable)));
+  }
+
+  public Flux<EventResponse> streamEvents() {
+    return eventRepository.findAll(Sort.by("startTime", "id")).map(EventFunctions::responseFromEvent);
+  }
+
+  public Mono<CursorPage<EventResponse>> getEvents(@NotNull Optional<EventCursor> cursor, int size) {
+    return requireNonNull(cursor, () ->
+        cursor.map(c -> eventRepository.findKeysetAfter(c.startTime(), c.id(), size + 1))
+            .orElseGet(() -> eventRepository.findKeysetFirst(size + 1))
+            .collectList()
+            .map(events -> cursorPageFromEvents(events, size)));
+  }
+
   public Mono<EventResponse> getEvent(@NotNull UUID id) {
-    return requireNonNull(id)
-        .flatMap(p -> eventRepository.findById(id))
-        .map(EventFunctions::responseFromEvent);
+    return requireNonNull(id, () -> readEvent(id).map(EventFunctions::responseFromEvent));
+  }
+
+  public Mono<Versioned<EventResponse>> getVersionedEvent(@NotNull UUID id) {
+    return requireNonNull(id, () -> readEvent(id).map(EventFunctions::versionedResponseFromEvent));
+  }
+
+  private Mono<Event> readEvent(UUID id) {
+    return peek(eventCache, id, Event.class)
+        .switchIfEmpty(eventLoads.one(id, () ->
+            load(eventCache, eventGenerations, id, () -> eventRepository.findById(id))));
+  }
+
+  public Flux<EventResponse> getEventsById(@NotNull List<UUID> ids) {
+    return requireNonNullMany(ids, () -> eventRepository.findAllInOrder(ids).map(EventFunctions::responseFromEvent));
+  }
+
+  public Mono<ResourceVersion> getEventVersion(@NotNull UUID id) {
+    return requireNonNull(id, () ->
+        peek(eventCache, id, Event.class)
+            .map(EventFunctions::versionFromEvent)
+            .switchIfEmpty(eventRepository.findVersionById(id)));
   }
 
   public Flux<PersonResponse> getEventParticipants(@NotNull UUID id) {
-    return requireNonNull(id).flatMapMany(p ->
-        personRepository.findParticipantsByEventId(id)
-            .map(PersonFunctions::responseFromPerson));
+    return requireNonNullMany(id, () ->
+        participantLoads.many(id, () -> personRepository.findParticipantsByEventId(id)));
+  }
+
+  public Mono<Long> getEventParticipantCount(@NotNull UUID id) {
+    return requireNonNull(id, () -> participantCountColumn
+        ? eventRepository.findParticipantCountById(id)
+        : eventRepository.countParticipantsById(id));
+  }
+
+  public Mono<Boolean> isEventParticipant(@NotNull UUID eventId, @NotNull UUID personId) {
+    return requireNonNull(eventId, personId, () ->
+        participantRepository.countByEventIdAndPersonId(eventId, personId).map(count -> count > 0));
   }
 
-  @Transactional
   public Mono<EventResponse> updateEvent(@NotNull UUID id, @NotNull EventUpdateRequest eventUpdateRequest) {
-    return requireNonNull(id, eventUpdateRequest).flatMap(p ->
-        eventRepository.findById(id)
+    return updateEvent(id, eventUpdateRequest, version -> true);
+  }
+
+  public Mono<EventResponse> updateEvent(@NotNull UUID id, @NotNull EventUpdateRequest eventUpdateRequest,
+                                       @NotNull Predicate<ResourceVersion> precondition) {
+    return requireNonNull(id, eventUpdateRequest, precondition, () ->
+        evictAfter(eventCache, eventGenerations, id, eventRepository.findById(id)
+            .map(event -> requireEventVersion(event, precondition))
             .map(event -> updateEventFromUpdateRequest(event, eventUpdateRequest))
             .flatMap(eventRepository::save)
+            .retryWhen(onOptimisticLockingFailure(UPDATE_RETRIES)))
             .map(EventFunctions::responseFromEvent));
   }
 
   @Transactional
   public Flux<PersonResponse> updateEventParticipants(UUID eventId, EventParticipantsUpdateRequest request) {
-    return requireNonNull(eventId, request).flatMapMany(p ->
-        participantRepository.deleteAllByEventId(eventId)
-            .thenMany(participantRepository.saveAll(
-                Flux.fromStream(request.personIds().stream().map(personId -> Participant.from(eventId, personId)))))
-            .thenMany(personRepository.findParticipantsByEventId(eventId)
-                .map(PersonFunctions::responseFromPerson)));
+    return requireNonNullMany(eventId, request, () ->
+        advanceAfter(participantGenerations, eventId, participantRepository.findByEventId(eventId)
+            .map(Participant::personId)
+            .collect(Collectors.toSet())
+            .flatMapMany(currentPersonIds ->
+                deleteParticipants(eventId, removedParticipants(currentPersonIds, request))
+                    .thenMany(participantRepository.insertAll(
+                        addedParticipants(idGenerator, eventId, currentPersonIds, request))))
+            .then(refreshParticipantCount(eventId))
+            .thenMany(personRepository.findParticipantsByEventId(eventId))));
+  }
+
+  /**
+   * Recounts the participants of every event before accepting traffic, when both the participant count column and the
+   * backfill are enabled. Writes only maintain the column while it is enabled, so it is stale after running without
+   * it; enable the backfill for the one start that switches the column on, as it updates every event.
+   */
+  @EventListener(ApplicationStartedEvent.class)
+  void backfillParticipantCounts() {
+    if (participantCountColumn && participantCountBackfill) {
+      eventRepository.refreshParticipantCounts().block();
+    }
+  }
+
+  private Mono<Void> refreshParticipantCount(UUID eventId) {
+    return participantCountColumn ? eventRepository.refreshParticipantCount(eventId).then() : Mono.empty();
+  }
+
+  private Mono<Void> deleteParticipants(UUID eventId, Set<UUID> personIds) {
+    return personIds.isEmpty()
+        ? Mono.empty()
+        : participantRepository.deleteAllByEventIdAndPersonIdIn(eventId, personIds);
   }
 
   @Transactional
   public Mono<Void> deleteEvent(@NotNull UUID id) {
-    return requireNonNull(id).flatMap(p ->
-        eventRepository.deleteById(id));
+    return requireNonNull(id, () ->
+        evictAfter(eventCache, eventGenerations, id, eventRepository.deleteById(id)));
   }
 }
@@ -1,25 +1,69 @@
 package se.kry.springboot.demo.handson.services;
 
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
 import javax.validation.constraints.NotNull;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import se.kry.springboot.demo.handson.data.Person;
+import se.kry.springboot.demo.handson.domain.CursorPage;
 import se.kry.springboot.demo.handson.domain.PersonCreationRequest;
+import se.kry.springboot.demo.handson.domain.PersonCursor;
 import se.kry.springboot.demo.handson.domain.PersonResponse;
 import se.kry.springboot.demo.handson.domain.PersonUpdateRequest;
+import se.kry.springboot.demo.handson.domain.ResourceVersion;
+import se.kry.springboot.demo.handson.domain.VersionMismatchException;
+import se.kry.springboot.demo.handson.domain.Versioned;
 
 enum PersonFunctions {
   ;
 
-  static Person newPersonFromCreationRequest(@NotNull PersonCreationRequest personCreationRequest) {
-    return Person.from(personCreationRequest.name());
+  static Person newPersonFromCreationRequest(@NotNull UUID id, @NotNull PersonCreationRequest personCreationRequest) {
+    return Person.from(id, personCreationRequest.name());
+  }
+
+  static ResourceVersion versionFromPerson(Person person) {
+    return new ResourceVersion(person.id(), person.version(), person.lastModifiedDate());
+  }
+
+  static Person requirePersonVersion(Person person, Predicate<ResourceVersion> precondition) {
+    var version = versionFromPerson(person);
+    if (!precondition.test(version)) {
+      throw new VersionMismatchException(version);
+    }
+    return person;
   }
 
   static PersonResponse responseFromPerson(Person person) {
     return new PersonResponse(person.id(), person.name());
   }
 
+  static Versioned<PersonResponse> versionedResponseFromPerson(Person person) {
+    return new Versioned<>(versionFromPerson(person), responseFromPerson(person));
+  }
+
   static Person updatePersonFromUpdateRequest(Person person, PersonUpdateRequest personUpdateRequest) {
     return person.copy(
         name -> personUpdateRequest.name().orElse(name)
     );
   }
+
+  static Slice<PersonResponse> sliceFromPeople(List<Person> people, Pageable pageable) {
+    var hasNext = people.size() > pageable.getPageSize();
+    var content = hasNext ? people.subList(0, pageable.getPageSize()) : people;
+    return new SliceImpl<>(content, pageable, hasNext).map(PersonFunctions::responseFromPerson);
+  }
+
+  static CursorPage<PersonResponse> cursorPageFromPeople(List<Person> people, int size) {
+    if (people.size() <= size) {
+      return new CursorPage<>(people.stream().map(PersonFunctions::responseFromPerson).toList(), null);
+    }
+    var content = people.subList(0, size);
+    var last = content.get(size - 1);
+    return new CursorPage<>(
+        content.stream().map(PersonFunctions::responseFromPerson).toList(),
+        new PersonCursor(last.name(), last.id()).token());
+  }
 }
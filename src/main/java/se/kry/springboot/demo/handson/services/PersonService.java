@@ -1,63 +1,189 @@
 package se.kry.springboot.demo.handson.services;
 
+import static se.kry.springboot.demo.handson.services.PersonFunctions.cursorPageFromPeople;
 import static se.kry.springboot.demo.handson.services.PersonFunctions.newPersonFromCreationRequest;
+import static se.kry.springboot.demo.handson.services.PersonFunctions.requirePersonVersion;
+import static se.kry.springboot.demo.handson.services.PersonFunctions.sliceFromPeople;
 import static se.kry.springboot.demo.handson.services.PersonFunctions.updatePersonFromUpdateRequest;
+import static se.kry.springboot.demo.handson.util.ReactiveCaches.evictAfter;
+import static se.kry.springboot.demo.handson.util.ReactiveCaches.load;
+import static se.kry.springboot.demo.handson.util.ReactiveCaches.peek;
 import static se.kry.springboot.demo.handson.util.ReactivePreconditions.requireNonNull;
+import static se.kry.springboot.demo.handson.util.ReactivePreconditions.requireNonNullMany;
+import static se.kry.springboot.demo.handson.util.ReactiveRetries.onOptimisticLockingFailure;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Predicate;
 import javax.validation.constraints.NotNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.IdGenerator;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import se.kry.springboot.demo.handson.data.EventRepository;
+import se.kry.springboot.demo.handson.data.ParticipantRepository;
+import se.kry.springboot.demo.handson.data.Person;
 import se.kry.springboot.demo.handson.data.PersonRepository;
+import se.kry.springboot.demo.handson.domain.CursorPage;
+import se.kry.springboot.demo.handson.domain.EventResponse;
 import se.kry.springboot.demo.handson.domain.PersonCreationRequest;
+import se.kry.springboot.demo.handson.domain.PersonCursor;
 import se.kry.springboot.demo.handson.domain.PersonResponse;
 import se.kry.springboot.demo.handson.domain.PersonUpdateRequest;
+import se.kry.springboot.demo.handson.domain.ResourceVersion;
+import se.kry.springboot.demo.handson.domain.Versioned;
+import se.kry.springboot.demo.handson.infra.cache.InfraCacheConfiguration.CacheNames;
+import se.kry.springboot.demo.handson.util.CacheGenerations;
 
 @Service
 public class PersonService {
 
+  private static final long UPDATE_RETRIES = 3;
+
+  private static final Duration LOAD_TIMEOUT = Duration.ofSeconds(10);
+
   private final PersonRepository repository;
 
-  public PersonService(PersonRepository repository) {
+  private final EventRepository eventRepository;
+
+  private final ParticipantRepository participantRepository;
+
+  private final IdGenerator idGenerator;
+
+  private final Cache personCache;
+
+  private final CacheGenerations personGenerations = new CacheGenerations();
+
+  private final SingleFlight<UUID, Person> personLoads = new SingleFlight<>(personGenerations, LOAD_TIMEOUT);
+
+  private final Mono<Long> personCount;
+
+  public PersonService(PersonRepository repository,
+                       EventRepository eventRepository,
+                       ParticipantRepository participantRepository,
+                       IdGenerator idGenerator,
+                       CacheManager cacheManager,
+                       @Value("${handson.services.count-ttl}") Duration countTtl) {
     this.repository = repository;
+    this.eventRepository = eventRepository;
+    this.participantRepository = participantRepository;
+    this.idGenerator = idGenerator;
+    this.personCache = Objects.requireNonNull(cacheManager.getCache(CacheNames.PEOPLE));
+    this.personCount = Mono.defer(repository::count)
+        .cache(count -> countTtl, error -> Duration.ZERO, () -> countTtl);
   }
 
   @Transactional
   public Mono<PersonResponse> createPerson(@NotNull PersonCreationRequest personCreationRequest) {
-    return requireNonNull(personCreationRequest).flatMap(p ->
-        repository.save(newPersonFromCreationRequest(personCreationRequest))
+    return requireNonNull(personCreationRequest, () ->
+        Mono.fromSupplier(() -> newPersonFromCreationRequest(idGenerator.generateId(), personCreationRequest))
+            .flatMap(repository::save)
+            .map(PersonFunctions::responseFromPerson));
+  }
+
+  @Transactional
+  public Flux<PersonResponse> createPeople(@NotNull List<PersonCreationRequest> personCreationRequests) {
+    return requireNonNullMany(personCreationRequests, () ->
+        Mono.fromSupplier(() -> personCreationRequests.stream()
+                .map(request -> newPersonFromCreationRequest(idGenerator.generateId(), request))
+                .toList())
+            .flatMapMany(repository::insertAll)
             .map(PersonFunctions::responseFromPerson));
   }
 
   public Mono<Page<PersonResponse>> getPeople(@NotNull Pageable pageable) {
-    return requireNonNull(pageable).flatMap(p ->
+    return requireNonNull(pageable, () ->
         Mono.zip(
-            repository.count(),
+            personCount,
             repository.findBy(pageable).collectList(),
             (count, list) -> new PageImpl<>(list, pageable, count).map(PersonFunctions::responseFromPerson)));
   }
 
+  public Mono<Slice<PersonResponse>> getPeopleSlice(@NotNull Pageable pageable) {
+    return requireNonNull(pageable, () ->
+        repository.findSliceBy(pageable).collectList()
+            .map(people -> sliceFromPeople(people, pageable)));
+  }
+
+  public Flux<PersonResponse> streamPeople() {
+    return repository.findAll(Sort.by("name", "id")).map(PersonFunctions::responseFromPerson);
+  }
+
+  public Mono<CursorPage<PersonResponse>> getPeople(@NotNull Optional<PersonCursor> cursor, int size) {
+    return requireNonNull(cursor, () ->
+        cursor.map(c -> repository.findKeysetAfter(c.name(), c.id(), size + 1))
+            .orElseGet(() -> repository.findKeysetFirst(size + 1))
+            .collectList()
+            .map(people -> cursorPageFromPeople(people, size)));
+  }
+
   public Mono<PersonResponse> getPerson(@NotNull UUID id) {
-    return requireNonNull(id)
-        .flatMap(p -> repository.findById(id))
-        .map(PersonFunctions::responseFromPerson);
+    return requireNonNull(id, () -> readPerson(id).map(PersonFunctions::responseFromPerson));
+  }
+
+  public Mono<Versioned<PersonResponse>> getVersionedPerson(@NotNull UUID id) {
+    return requireNonNull(id, () -> readPerson(id).map(PersonFunctions::versionedResponseFromPerson));
+  }
+
+  private Mono<Person> readPerson(UUID id) {
+    return peek(personCache, id, Person.class)
+        .switchIfEmpty(personLoads.one(id, () ->
+            load(personCache, personGenerations, id, () -> repository.findById(id))));
+  }
+
+  public Flux<PersonResponse> getPeopleById(@NotNull List<UUID> ids) {
+    return requireNonNullMany(ids, () -> repository.findAllInOrder(ids).map(PersonFunctions::responseFromPerson));
+  }
+
+  public Mono<ResourceVersion> getPersonVersion(@NotNull UUID id) {
+    return requireNonNull(id, () ->
+        peek(personCache, id, Person.class)
+            .map(PersonFunctions::versionFromPerson)
+            .switchIfEmpty(repository.findVersionById(id)));
+  }
+
+  public Mono<Page<EventResponse>> getPersonEvents(@NotNull UUID id, @NotNull Pageable pageable) {
+    return requireNonNull(id, pageable, () ->
+        Mono.zip(
+            participantRepository.countByPersonId(id),
+            eventRepository.findByParticipantPersonId(id, pageable.getPageSize(), pageable.getOffset()).collectList(),
+            (count, list) -> new PageImpl<>(list, pageable, count).map(EventFunctions::responseFromEvent)));
+  }
+
+  public Flux<EventResponse> streamPersonEvents(@NotNull UUID id) {
+    return requireNonNullMany(id, () ->
+        eventRepository.findByParticipantPersonId(id).map(EventFunctions::responseFromEvent));
   }
 
-  @Transactional
   public Mono<PersonResponse> updatePerson(@NotNull UUID id, @NotNull PersonUpdateRequest personUpdateRequest) {
-    return requireNonNull(id, personUpdateRequest).flatMap(p ->
-        repository.findById(id)
+    return updatePerson(id, personUpdateRequest, version -> true);
+  }
+
+  public Mono<PersonResponse> updatePerson(@NotNull UUID id, @NotNull PersonUpdateRequest personUpdateRequest,
+                                        @NotNull Predicate<ResourceVersion> precondition) {
+    return requireNonNull(id, personUpdateRequest, precondition, () ->
+        evictAfter(personCache, personGenerations, id, repository.findById(id)
+            .map(person -> requirePersonVersion(person, precondition))
             .map(person -> updatePersonFromUpdateRequest(person, personUpdateRequest))
             .flatMap(repository::save)
+            .retryWhen(onOptimisticLockingFailure(UPDATE_RETRIES)))
             .map(PersonFunctions::responseFromPerson));
   }
 
   @Transactional
   public Mono<Void> deletePerson(@NotNull UUID id) {
-    return requireNonNull(id).flatMap(p -> repository.deleteById(id));
+    return requireNonNull(id, () -> evictAfter(personCache, personGenerations, id, repository.deleteById(id)));
   }
 }
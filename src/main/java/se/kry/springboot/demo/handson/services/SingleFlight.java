@@ -0,0 +1,58 @@
+package se.kry.springboot.demo.handson.services;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import se.kry.springboot.demo.handson.util.CacheGenerations;
+
+/**
+ * Coalesces concurrent reads of the same key. The first subscriber starts the load and everyone who subscribes while it
+ * is in flight shares it and gets its signals replayed, so a burst of identical requests costs one query. The key is
+ * forgotten once the load terminates or times out, so later reads, and retries after an error, load again. With cache
+ * generations, reads that start after an eviction never join a flight that started before it.
+ */
+final class SingleFlight<K, T> {
+
+  private final ConcurrentMap<Flight<K>, Publisher<T>> inFlight = new ConcurrentHashMap<>();
+
+  private final CacheGenerations generations;
+
+  private final Duration timeout;
+
+  SingleFlight(CacheGenerations generations, Duration timeout) {
+    this.generations = generations;
+    this.timeout = timeout;
+  }
+
+  SingleFlight(Duration timeout) {
+    this(null, timeout);
+  }
+
+  Mono<T> one(K key, Supplier<? extends Mono<T>> loader) {
+    return Mono.defer(() -> Mono.from(flight(key, landed ->
+        Mono.defer(loader).timeout(timeout).doOnTerminate(landed).cache())));
+  }
+
+  Flux<T> many(K key, Supplier<? extends Flux<T>> loader) {
+    return Flux.defer(() -> flight(key, landed ->
+        Flux.defer(loader).timeout(timeout).doOnTerminate(landed).cache()));
+  }
+
+  private Publisher<T> flight(K key, Function<Runnable, Publisher<T>> share) {
+    var generation = generations == null ? 0 : generations.current(key);
+    return inFlight.computeIfAbsent(new Flight<>(key, generation), k -> {
+      var flight = new AtomicReference<Publisher<T>>();
+      flight.set(share.apply(() -> inFlight.remove(k, flight.get())));
+      return flight.get();
+    });
+  }
+
+  private record Flight<K>(K key, long generation) {
+  }
+}
@@ -0,0 +1,28 @@
+package se.kry.springboot.demo.handson.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-key eviction counters for a cache, striped so that memory stays bounded. A load remembers the generation of its
+ * key when it starts and only caches its value if no eviction happened in the meantime. Keys sharing a stripe can
+ * reject each other's loads, which costs a cache miss, never a stale entry.
+ */
+public final class CacheGenerations {
+
+  private static final int STRIPES = 1024;
+
+  private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+  public long current(Object key) {
+    return generations.get(stripe(key));
+  }
+
+  public void advance(Object key) {
+    generations.incrementAndGet(stripe(key));
+  }
+
+  private static int stripe(Object key) {
+    var hash = key.hashCode();
+    return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+  }
+}
@@ -0,0 +1,32 @@
+package se.kry.springboot.demo.handson.util;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.util.Base64;
+import java.util.UUID;
+
+public enum CursorTokens {
+  ;
+
+  private static final char SEPARATOR = '|';
+
+  private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+  private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+  public static String encode(UUID id, String key) {
+    return ENCODER.encodeToString((id.toString() + SEPARATOR + key).getBytes(UTF_8));
+  }
+
+  public static Token decode(String token) {
+    var value = new String(DECODER.decode(token), UTF_8);
+    var separatorIndex = value.indexOf(SEPARATOR);
+    if (separatorIndex < 0) {
+      throw new IllegalArgumentException(String.format("Cursor %s is not valid", token));
+    }
+    return new Token(UUID.fromString(value.substring(0, separatorIndex)), value.substring(separatorIndex + 1));
+  }
+
+  public record Token(UUID id, String key) {
+  }
+}
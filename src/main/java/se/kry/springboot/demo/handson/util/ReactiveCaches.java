@@ -0,0 +1,77 @@
+package se.kry.springboot.demo.handson.util;
+
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public enum ReactiveCaches {
+  ;
+
+  public static <T> Mono<T> peek(Cache cache, Object key, Class<T> type) {
+    return Mono.defer(() -> Mono.justOrEmpty(cache.get(key, type)));
+  }
+
+  /**
+   * Loads a value and caches it, unless the key was evicted after the load started: such a load may have read the row
+   * as it was before the write, so its value is returned but not cached. The generation is checked again after the
+   * put, so an eviction racing with it removes the value either way.
+   */
+  public static <T> Mono<T> load(Cache cache, CacheGenerations generations, Object key, Supplier<Mono<T>> loader) {
+    return Mono.defer(() -> {
+      var generation = generations.current(key);
+      return loader.get().doOnNext(value -> {
+        if (generations.current(key) == generation) {
+          cache.put(key, value);
+          if (generations.current(key) != generation) {
+            cache.evict(key);
+          }
+        }
+      });
+    });
+  }
+
+  /**
+   * Evicts the key before the write and again once it is visible to other readers: after the surrounding transaction
+   * completes, or after the write terminates when there is none. Loads started before that are not cached.
+   */
+  public static <T> Mono<T> evictAfter(Cache cache, CacheGenerations generations, Object key, Mono<T> write) {
+    Runnable evict = () -> {
+      generations.advance(key);
+      cache.evict(key);
+    };
+    return beforeAndAfterCompletion(evict)
+        .flatMap(inTransaction -> inTransaction ? write : write.doFinally(signal -> evict.run()));
+  }
+
+  /**
+   * Advances the generation of the key before the write and again once it is visible to other readers, like
+   * {@link #evictAfter}, for reads that are coalesced by generation but not cached.
+   */
+  public static <T> Flux<T> advanceAfter(CacheGenerations generations, Object key, Flux<T> write) {
+    Runnable advance = () -> generations.advance(key);
+    return beforeAndAfterCompletion(advance)
+        .flatMapMany(inTransaction -> inTransaction ? write : write.doFinally(signal -> advance.run()));
+  }
+
+  /**
+   * Runs the action now and registers it to run again after the current transaction completes. Emits whether there is
+   * such a transaction; without one, the caller runs the action again once its write terminates.
+   */
+  private static Mono<Boolean> beforeAndAfterCompletion(Runnable action) {
+    return TransactionSynchronizationManager.forCurrentTransaction()
+        .filter(TransactionSynchronizationManager::isSynchronizationActive)
+        .doOnNext(synchronizations -> synchronizations.registerSynchronization(new TransactionSynchronization() {
+          @Override
+          public Mono<Void> afterCompletion(int status) {
+            return Mono.fromRunnable(action);
+          }
+        }))
+        .onErrorResume(NoTransactionException.class, e -> Mono.empty())
+        .hasElement()
+        .doOnNext(inTransaction -> action.run());
+  }
+}
@@ -1,31 +1,49 @@
 package se.kry.springboot.demo.handson.util;
 
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.util.function.Tuple2;
-import reactor.util.function.Tuple3;
 
+/**
+ * Null checks performed eagerly at assembly time: the publisher supplied by {@code then} is only built when every
+ * argument is non-null, otherwise a {@link NullPointerException} error is returned without invoking it. Callers whose
+ * publishers have side effects at assembly must make those lazy themselves.
+ */
 public enum ReactivePreconditions {
   ;
 
-  public static <T> Mono<T> requireNonNull(T object) {
+  public static <R> Mono<R> requireNonNull(Object object, Supplier<Mono<R>> then) {
     if (object == null) {
       return Mono.error(NullPointerException::new);
     }
-    return Mono.just(object);
+    return then.get();
   }
 
-  public static <T1, T2> Mono<Tuple2<T1, T2>> requireNonNull(T1 object1, T2 object2) {
-    return Mono.zip(
-        requireNonNull(object1),
-        requireNonNull(object2)
-    );
+  public static <R> Mono<R> requireNonNull(Object object1, Object object2, Supplier<Mono<R>> then) {
+    if (object1 == null || object2 == null) {
+      return Mono.error(NullPointerException::new);
+    }
+    return then.get();
+  }
+
+  public static <R> Mono<R> requireNonNull(Object object1, Object object2, Object object3, Supplier<Mono<R>> then) {
+    if (object1 == null || object2 == null || object3 == null) {
+      return Mono.error(NullPointerException::new);
+    }
+    return then.get();
   }
 
-  public static <T1, T2, T3> Mono<Tuple3<T1, T2, T3>> requireNonNull(T1 object1, T2 object2, T3 object3) {
-    return Mono.zip(
-        requireNonNull(object1),
-        requireNonNull(object2),
-        requireNonNull(object3)
-    );
+  public static <R> Flux<R> requireNonNullMany(Object object, Supplier<Flux<R>> then) {
+    if (object == null) {
+      return Flux.error(NullPointerException::new);
+    }
+    return then.get();
+  }
+
+  public static <R> Flux<R> requireNonNullMany(Object object1, Object object2, Supplier<Flux<R>> then) {
+    if (object1 == null || object2 == null) {
+      return Flux.error(NullPointerException::new);
+    }
+    return then.get();
   }
 }
@@ -0,0 +1,18 @@
+package se.kry.springboot.demo.handson.util;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import reactor.util.retry.Retry;
+
+public enum ReactiveRetries {
+  ;
+
+  /**
+   * Resubscribes after an optimistic locking failure, so that a read-modify-write sequence is replayed against the
+   * current row. Once the retries are exhausted the last failure is propagated as is.
+   */
+  public static Retry onOptimisticLockingFailure(long maxRetries) {
+    return Retry.max(maxRetries)
+        .filter(OptimisticLockingFailureException.class::isInstance)
+        .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+  }
+}
@@ -0,0 +1,121 @@
+package se.kry.springboot.demo.handson.web;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import javax.validation.ConstraintViolation;
+import javax.validation.Valid;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import se.kry.springboot.demo.handson.domain.BatchItemResponse;
+import se.kry.springboot.demo.handson.domain.EventCreationRequest;
+import se.kry.springboot.demo.handson.domain.EventLookupRequest;
+import se.kry.springboot.demo.handson.domain.EventResponse;
+import se.kry.springboot.demo.handson.domain.PersonCreationRequest;
+import se.kry.springboot.demo.handson.domain.PersonResponse;
+import se.kry.springboot.demo.handson.services.EventService;
+import se.kry.springboot.demo.handson.services.PersonService;
+
+@RestController
+@RequestMapping("/api/v1")
+public class BatchController {
+
+  static final String BATCH_FAILED = "batch could not be created";
+
+  private final EventService eventService;
+
+  private final PersonService personService;
+
+  private final Validator validator;
+
+  private final int batchSize;
+
+  private final Logger logger;
+
+  public BatchController(EventService eventService,
+                         PersonService personService,
+                         Validator validator,
+                         @Value("${handson.web.batch-size}") int batchSize,
+                         Logger logger) {
+    this.eventService = eventService;
+    this.personService = personService;
+    this.validator = validator;
+    this.batchSize = batchSize;
+    this.logger = logger;
+  }
+
+  @PostMapping(path = "events:batch",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+      produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+  Flux<BatchItemResponse<EventResponse>> createEvents(@RequestBody Flux<EventCreationRequest> requests) {
+    return createInBatches(requests, eventService::createEvents);
+  }
+
+  @PostMapping(path = "people:batch",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE},
+      produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+  Flux<BatchItemResponse<PersonResponse>> createPeople(@RequestBody Flux<PersonCreationRequest> requests) {
+    return createInBatches(requests, personService::createPeople);
+  }
+
+  @PostMapping(path = "events:lookup",
+      produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  Flux<EventResponse> lookupEvents(@Valid @RequestBody EventLookupRequest request) {
+    return eventService.getEventsById(request.ids());
+  }
+
+  private <T, R> Flux<BatchItemResponse<R>> createInBatches(Flux<T> requests, Function<List<T>, Flux<R>> create) {
+    return requests.index()
+        .buffer(batchSize)
+        .concatMap(batch -> createBatch(batch, create));
+  }
+
+  private <T, R> Flux<BatchItemResponse<R>> createBatch(List<Tuple2<Long, T>> batch,
+                                                        Function<List<T>, Flux<R>> create) {
+    var valid = new ArrayList<Tuple2<Long, T>>();
+    var failures = new ArrayList<BatchItemResponse<R>>();
+    batch.forEach(item -> {
+      var violations = validator.validate(item.getT2());
+      if (violations.isEmpty()) {
+        valid.add(item);
+      } else {
+        failures.add(BatchItemResponse.failure(item.getT1(),
+            violations.stream().map(BatchController::message).sorted().toList()));
+      }
+    });
+
+    var indexes = valid.stream().map(Tuple2::getT1).toList();
+    var created = valid.isEmpty()
+        ? Flux.<BatchItemResponse<R>>empty()
+        : create.apply(valid.stream().map(Tuple2::getT2).toList())
+            .collectList()
+            .map(responses -> IntStream.range(0, responses.size())
+                .mapToObj(i -> BatchItemResponse.success(indexes.get(i), responses.get(i)))
+                .toList())
+            .onErrorResume(e -> {
+              logger.warn("Batch of {} items starting at index {} failed", indexes.size(), indexes.get(0), e);
+              return Mono.just(indexes.stream()
+                  .map(index -> BatchItemResponse.<R>failure(index, List.of(BATCH_FAILED)))
+                  .toList());
+            })
+            .flatMapIterable(Function.identity());
+
+    return created.mergeWith(Flux.fromIterable(failures))
+        .sort(Comparator.comparingLong(BatchItemResponse::index));
+  }
+
+  private static String message(ConstraintViolation<?> violation) {
+    return violation.getPropertyPath() + " " + violation.getMessage();
+  }
+}
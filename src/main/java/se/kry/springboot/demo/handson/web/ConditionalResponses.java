@@ -0,0 +1,104 @@
+package se.kry.springboot.demo.handson.web;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import se.kry.springboot.demo.handson.domain.ResourceVersion;
+import se.kry.springboot.demo.handson.domain.VersionMismatchException;
+import se.kry.springboot.demo.handson.domain.Versioned;
+import se.kry.springboot.demo.handson.infra.web.InfraWebConfiguration.ExchangeAttributes;
+
+/**
+ * Answers conditional GETs from a resource version before the body is loaded, so the body is only read when the
+ * client's copy is stale. The validators of a full response come from the same row as its body, so they always
+ * describe what is sent. The JSON, CBOR and Smile representations of a version each get their own strong ETag, picked
+ * from {@code Accept} the way content negotiation picks the codec, and from the content coding when the server may
+ * compress the response. Updates are checked against {@code If-Match} by the service, on the same row it writes, and
+ * accept the ETag of any representation of that version.
+ */
+enum ConditionalResponses {
+  ;
+
+  private static final List<MediaType> REPRESENTATIONS = List.of(
+      MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, new MediaType("application", "x-jackson-smile"));
+
+  static <T> Mono<ResponseEntity<T>> conditionally(ServerWebExchange exchange,
+                                                   Supplier<Mono<ResourceVersion>> version,
+                                                   Supplier<Mono<Versioned<T>>> body) {
+    var headers = exchange.getResponse().getHeaders();
+    if (!headers.getVary().contains(HttpHeaders.ACCEPT)) {
+      headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    }
+    var notModified = isConditional(exchange)
+        ? version.get().map(current -> notModified(exchange, current))
+        : Mono.just(false);
+    return notModified
+        .flatMap(unchanged -> unchanged
+            ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).<T>build())
+            : body.get().map(versioned -> withValidators(exchange, versioned)))
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  static <T> Mono<ResponseEntity<T>> updateConditionally(ServerWebExchange exchange,
+                                                          Function<Predicate<ResourceVersion>, Mono<T>> update) {
+    return update.apply(ifMatch(exchange))
+        .map(ResponseEntity::ok)
+        .defaultIfEmpty(ResponseEntity.notFound().build())
+        .onErrorMap(VersionMismatchException.class,
+            e -> new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage()))
+        .onErrorMap(OptimisticLockingFailureException.class,
+            e -> new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage()));
+  }
+
+  static Predicate<ResourceVersion> ifMatch(ServerWebExchange exchange) {
+    var etags = exchange.getRequest().getHeaders().getIfMatch();
+    return version -> etags.isEmpty() || etags.contains("*") || etags.stream().anyMatch(etag ->
+        etag.equals('"' + version.etag() + '"') || etag.startsWith('"' + version.etag() + '-'));
+  }
+
+  private static String etag(ServerWebExchange exchange, ResourceVersion version) {
+    var etag = version.etag() + '-' + representation(exchange).getSubtype();
+    String contentCoding = exchange.getAttribute(ExchangeAttributes.CONTENT_CODING);
+    return contentCoding == null ? etag : etag + '-' + contentCoding;
+  }
+
+  private static MediaType representation(ServerWebExchange exchange) {
+    var accepted = new ArrayList<>(exchange.getRequest().getHeaders().getAccept());
+    MediaType.sortBySpecificityAndQuality(accepted);
+    return accepted.stream()
+        .filter(type -> type.getQualityValue() > 0)
+        .flatMap(type -> REPRESENTATIONS.stream().filter(type::includes))
+        .findFirst()
+        .orElse(MediaType.APPLICATION_JSON);
+  }
+
+  private static boolean isConditional(ServerWebExchange exchange) {
+    var headers = exchange.getRequest().getHeaders();
+    return !headers.getIfNoneMatch().isEmpty() || headers.getIfModifiedSince() != -1;
+  }
+
+  private static <T> ResponseEntity<T> withValidators(ServerWebExchange exchange, Versioned<T> versioned) {
+    var version = versioned.version();
+    var response = ResponseEntity.ok().eTag(etag(exchange, version));
+    if (version.lastModified() != null) {
+      response.lastModified(version.lastModified());
+    }
+    return response.body(versioned.value());
+  }
+
+  private static boolean notModified(ServerWebExchange exchange, ResourceVersion version) {
+    return version.lastModified() == null
+        ? exchange.checkNotModified(etag(exchange, version))
+        : exchange.checkNotModified(etag(exchange, version), version.lastModified());
+  }
+}
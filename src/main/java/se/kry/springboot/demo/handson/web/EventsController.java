@@ -1,9 +1,18 @@
 package se.kry.springboot.demo.handson.web;
 
+import static se.kry.springboot.demo.handson.web.ConditionalResponses.conditionally;
+import static se.kry.springboot.demo.handson.web.ConditionalResponses.updateConditionally;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
 import java.util.UUID;
 import javax.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,15 +22,22 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
 import org.springframework.web.util.UriComponentsBuilder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import se.kry.springboot.demo.handson.domain.CursorPage;
 import se.kry.springboot.demo.handson.domain.EventCreationRequest;
+import se.kry.springboot.demo.handson.domain.EventCursor;
 import se.kry.springboot.demo.handson.domain.EventParticipantsUpdateRequest;
 import se.kry.springboot.demo.handson.domain.EventResponse;
 import se.kry.springboot.demo.handson.domain.EventUpdateRequest;
 import se.kry.springboot.demo.handson.domain.PersonResponse;
+import se.kry.springboot.demo.handson.domain.StartIsAfterEndException;
 import se.kry.springboot.demo.handson.services.EventService;
 
 @RestController
@@ -48,11 +64,40 @@ public class EventsController {
     return service.getEvents(pageable);
   }
 
+  @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+  Flux<EventResponse> streamEvents() {
+    return service.streamEvents();
+  }
+
+  @GetMapping(params = {"from", "to"})
+  Mono<Page<EventResponse>> readEventsOverlapping(@RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+                                                  @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to,
+                                                  Pageable pageable) {
+    return service.getEventsOverlapping(from, to, pageable)
+        .onErrorMap(StartIsAfterEndException.class, e -> new ServerWebInputException(e.getMessage()));
+  }
+
+  @GetMapping(params = {"from", "to"},
+      produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+  Flux<EventResponse> streamEventsOverlapping(@RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime from,
+                                              @RequestParam @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime to) {
+    return service.streamEventsOverlapping(from, to)
+        .onErrorMap(StartIsAfterEndException.class, e -> new ServerWebInputException(e.getMessage()));
+  }
+
+  @GetMapping(params = {"count=false", "!cursor"})
+  Mono<Slice<EventResponse>> readEventsSlice(Pageable pageable) {
+    return service.getEventsSlice(pageable);
+  }
+
+  @GetMapping(params = "cursor")
+  Mono<CursorPage<EventResponse>> readEvents(@RequestParam Optional<EventCursor> cursor, Pageable pageable) {
+    return service.getEvents(cursor, pageable.getPageSize());
+  }
+
   @GetMapping("{id}")
-  Mono<ResponseEntity<EventResponse>> readEvent(@PathVariable UUID id) {
-    return service.getEvent(id)
-        .map(ResponseEntity::ok)
-        .defaultIfEmpty(ResponseEntity.notFound().build());
+  Mono<ResponseEntity<EventResponse>> readEvent(@PathVariable UUID id, ServerWebExchange exchange) {
+    return conditionally(exchange, () -> service.getEventVersion(id), () -> service.getVersionedEvent(id));
   }
 
   @GetMapping("{id}/participants")
@@ -60,6 +105,19 @@ public class EventsController {
     return service.getEventParticipants(id);
   }
 
+  @GetMapping("{id}/participants/count")
+  Mono<ResponseEntity<Long>> readEventParticipantCount(@PathVariable UUID id) {
+    return service.getEventParticipantCount(id)
+        .map(ResponseEntity::ok)
+        .defaultIfEmpty(ResponseEntity.notFound().build());
+  }
+
+  @RequestMapping(path = "{id}/participants/{personId}", method = RequestMethod.HEAD)
+  Mono<ResponseEntity<Void>> checkEventParticipant(@PathVariable UUID id, @PathVariable UUID personId) {
+    return service.isEventParticipant(id, personId)
+        .map(participant -> participant ? ResponseEntity.ok().<Void>build() : ResponseEntity.notFound().<Void>build());
+  }
+
   @PutMapping("{id}/participants")
   Flux<PersonResponse> updateEventParticipants(
       @PathVariable UUID id,
@@ -70,10 +128,9 @@ public class EventsController {
   @PatchMapping("{id}")
   Mono<ResponseEntity<EventResponse>> updateEvent(
       @PathVariable UUID id,
-      @Valid @RequestBody EventUpdateRequest eventUpdateRequest) {
-    return service.updateEvent(id, eventUpdateRequest)
-        .map(ResponseEntity::ok)
-        .defaultIfEmpty(ResponseEntity.notFound().build());
+      @Valid @RequestBody EventUpdateRequest eventUpdateRequest,
+      ServerWebExchange exchange) {
+    return updateConditionally(exchange, precondition -> service.updateEvent(id, eventUpdateRequest, precondition));
   }
 
   @DeleteMapping("{id}")
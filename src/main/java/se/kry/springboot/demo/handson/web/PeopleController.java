@@ -1,9 +1,16 @@
 package se.kry.springboot.demo.handson.web;
 
+import static se.kry.springboot.demo.handson.web.ConditionalResponses.conditionally;
+import static se.kry.springboot.demo.handson.web.ConditionalResponses.updateConditionally;
+
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 import javax.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,10 +19,18 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebInputException;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import se.kry.springboot.demo.handson.domain.CursorPage;
+import se.kry.springboot.demo.handson.domain.EventResponse;
+import se.kry.springboot.demo.handson.domain.PersonConstants;
 import se.kry.springboot.demo.handson.domain.PersonCreationRequest;
+import se.kry.springboot.demo.handson.domain.PersonCursor;
 import se.kry.springboot.demo.handson.domain.PersonResponse;
 import se.kry.springboot.demo.handson.domain.PersonUpdateRequest;
 import se.kry.springboot.demo.handson.services.PersonService;
@@ -44,20 +59,49 @@ public class PeopleController {
     return service.getPeople(pageable);
   }
 
+  @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+  Flux<PersonResponse> streamPeople() {
+    return service.streamPeople();
+  }
+
+  @GetMapping(params = {"count=false", "!cursor", "!ids"})
+  Mono<Slice<PersonResponse>> readPeopleSlice(Pageable pageable) {
+    return service.getPeopleSlice(pageable);
+  }
+
+  @GetMapping(params = {"cursor", "!ids"})
+  Mono<CursorPage<PersonResponse>> readPeople(@RequestParam Optional<PersonCursor> cursor, Pageable pageable) {
+    return service.getPeople(cursor, pageable.getPageSize());
+  }
+
+  @GetMapping(params = "ids", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  Flux<PersonResponse> readPeople(@RequestParam List<UUID> ids) {
+    return ids.size() > PersonConstants.Sizes.LOOKUP_IDS
+        ? Flux.error(new ServerWebInputException("At most " + PersonConstants.Sizes.LOOKUP_IDS + " ids are allowed"))
+        : service.getPeopleById(ids);
+  }
+
   @GetMapping("{id}")
-  Mono<ResponseEntity<PersonResponse>> readPerson(@PathVariable UUID id) {
-    return service.getPerson(id)
-        .map(ResponseEntity::ok)
-        .defaultIfEmpty(ResponseEntity.notFound().build());
+  Mono<ResponseEntity<PersonResponse>> readPerson(@PathVariable UUID id, ServerWebExchange exchange) {
+    return conditionally(exchange, () -> service.getPersonVersion(id), () -> service.getVersionedPerson(id));
+  }
+
+  @GetMapping("{id}/events")
+  Mono<Page<EventResponse>> readPersonEvents(@PathVariable UUID id, Pageable pageable) {
+    return service.getPersonEvents(id, pageable);
+  }
+
+  @GetMapping(path = "{id}/events", produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+  Flux<EventResponse> streamPersonEvents(@PathVariable UUID id) {
+    return service.streamPersonEvents(id);
   }
 
   @PatchMapping("{id}")
   Mono<ResponseEntity<PersonResponse>> updatePerson(
       @PathVariable UUID id,
-      @Valid @RequestBody PersonUpdateRequest request) {
-    return service.updatePerson(id, request)
-        .map(ResponseEntity::ok)
-        .defaultIfEmpty(ResponseEntity.notFound().build());
+      @Valid @RequestBody PersonUpdateRequest request,
+      ServerWebExchange exchange) {
+    return updateConditionally(exchange, precondition -> service.updatePerson(id, request, precondition));
   }
 
   @DeleteMapping("{id}")
@@ -0,0 +1,38 @@
+CREATE TABLE IF NOT EXISTS event
+(
+    id                 BINARY(16)   NOT NULL,
+    title              VARCHAR(256) NOT NULL,
+    start_time         TIMESTAMP    NOT NULL,
+    end_time           TIMESTAMP    NOT NULL,
+    participant_count  INT          NOT NULL DEFAULT 0,
+    created_date       TIMESTAMP,
+    last_modified_date TIMESTAMP(6),
+    version            BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    INDEX event_start_time_id (start_time, id),
+    INDEX event_start_time_end_time (start_time, end_time)
+);
+
+CREATE TABLE IF NOT EXISTS person
+(
+    id                 BINARY(16)   NOT NULL,
+    name               VARCHAR(256) NOT NULL,
+    created_date       TIMESTAMP,
+    last_modified_date TIMESTAMP(6),
+    version            BIGINT       NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    INDEX person_name_id (name, id)
+);
+
+CREATE TABLE IF NOT EXISTS participant
+(
+    id           BINARY(16)  NOT NULL,
+    event_id     BINARY(16)  NOT NULL,
+    person_id    BINARY(16)  NOT NULL,
+    created_date TIMESTAMP,
+    FOREIGN KEY (event_id) REFERENCES event (id),
+    FOREIGN KEY (person_id) REFERENCES person (id),
+    PRIMARY KEY (id),
+    UNIQUE (event_id, person_id),
+    INDEX participant_person_id_event_id (person_id, event_id)
+);
@@ -1,31 +1,42 @@
 CREATE TABLE IF NOT EXISTS event
 (
-    id                 VARCHAR(36)  NOT NULL,
+    id                 UUID         NOT NULL,
     title              VARCHAR(256) NOT NULL,
     start_time         TIMESTAMP    NOT NULL,
     end_time           TIMESTAMP    NOT NULL,
+    participant_count  INT          NOT NULL DEFAULT 0,
     created_date       TIMESTAMP,
     last_modified_date TIMESTAMP,
+    version            BIGINT       NOT NULL DEFAULT 0,
     PRIMARY KEY (id)
 );
 
 CREATE TABLE IF NOT EXISTS person
 (
-    id                 VARCHAR(36)  NOT NULL,
+    id                 UUID         NOT NULL,
     name               VARCHAR(256) NOT NULL,
     created_date       TIMESTAMP,
     last_modified_date TIMESTAMP,
+    version            BIGINT       NOT NULL DEFAULT 0,
     PRIMARY KEY (id)
 );
 
 CREATE TABLE IF NOT EXISTS participant
 (
-    id           VARCHAR(36) NOT NULL,
-    event_id     VARCHAR(36) NOT NULL,
-    person_id    VARCHAR(36) NOT NULL,
+    id           UUID        NOT NULL,
+    event_id     UUID        NOT NULL,
+    person_id    UUID        NOT NULL,
     created_date TIMESTAMP,
     FOREIGN KEY (event_id) REFERENCES event (id),
     FOREIGN KEY (person_id) REFERENCES person (id),
     PRIMARY KEY (id),
     UNIQUE (event_id, person_id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS event_start_time_id ON event (start_time, id);
+
+CREATE INDEX IF NOT EXISTS event_start_time_end_time ON event (start_time, end_time);
+
+CREATE INDEX IF NOT EXISTS person_name_id ON person (name, id);
+
+CREATE INDEX IF NOT EXISTS participant_person_id_event_id ON participant (person_id, event_id);
@@ -15,6 +15,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -28,6 +29,7 @@ import se.kry.springboot.demo.handson.domain.EventDefaults;
 import se.kry.springboot.demo.handson.domain.PersonDefaults;
 
 @SpringBootTest
+@ActiveProfiles("mysql")
 @Testcontainers
 @AutoConfigureWebTestClient
 class ApplicationTest {
@@ -52,9 +54,10 @@ class ApplicationTest {
 
   @DynamicPropertySource
   static void mySqlProperties(DynamicPropertyRegistry registry) {
-    registry.add("spring.datasource.url", mySql::getJdbcUrl);
-    registry.add("spring.datasource.username", mySql::getUsername);
-    registry.add("spring.datasource.password", mySql::getPassword);
+    registry.add("spring.r2dbc.url", () -> "r2dbc:mysql://%s:%d/%s".formatted(
+        mySql.getHost(), mySql.getMappedPort(MySQLContainer.MYSQL_PORT), mySql.getDatabaseName()));
+    registry.add("spring.r2dbc.username", mySql::getUsername);
+    registry.add("spring.r2dbc.password", mySql::getPassword);
   }
 
   @Test
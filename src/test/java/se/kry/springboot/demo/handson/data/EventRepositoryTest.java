@@ -2,16 +2,25 @@ package se.kry.springboot.demo.handson.data;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.UUID;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.dao.UncategorizedDataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.function.Tuples;
 import se.kry.springboot.demo.handson.domain.EventDefaults;
+import se.kry.springboot.demo.handson.domain.PersonDefaults;
 
 @DataR2dbcTest
 class EventRepositoryTest {
@@ -29,7 +38,7 @@ class EventRepositoryTest {
     template.insert(
             new Event(EventDefaults.ID, EventDefaults.TITLE,
                 EventDefaults.START_TIME, EventDefaults.END_TIME,
-                EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE))
+                EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE, EventDefaults.VERSION))
 
         // When
         .then(repository.findById(EventDefaults.ID))
@@ -43,12 +52,52 @@ class EventRepositoryTest {
         }).verifyComplete();
   }
 
+  @Test
+  void find_events_in_order() {
+    var first = Event.from(UUID.randomUUID(), EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME);
+    var second = Event.from(UUID.randomUUID(), EventDefaults.OTHER_TITLE, EventDefaults.OTHER_START_TIME,
+        EventDefaults.OTHER_END_TIME);
+
+    // Given
+    repository.insertAll(List.of(first, second))
+
+        // When
+        .thenMany(repository.findAllInOrder(List.of(second.id(), first.id())))
+
+        // Then
+        .map(Event::id)
+        .as(StepVerifier::create)
+        .expectNext(second.id(), first.id())
+        .verifyComplete();
+  }
+
+  @Test
+  void insert_events_in_full_batch() {
+    var events = IntStream.range(0, 500)
+        .mapToObj(i -> Event.from(UUID.randomUUID(), EventDefaults.TITLE + " " + i,
+            EventDefaults.START_TIME, EventDefaults.END_TIME))
+        .toList();
+    var ids = events.stream().map(Event::id).toList();
+
+    // Given
+    repository.insertAll(events)
+
+        // When
+        .thenMany(repository.findAllInOrder(ids))
+
+        // Then
+        .map(Event::title)
+        .as(StepVerifier::create)
+        .expectNextSequence(events.stream().map(Event::title).toList())
+        .verifyComplete();
+  }
+
   @Test
   void find_all_events_by_pageable() {
 
     // Given
     var inserts = IntStream.range(0, 50)
-        .mapToObj(i -> Event.from("Event" + i,
+        .mapToObj(i -> Event.from(UUID.randomUUID(), "Event" + i,
             EventDefaults.START_TIME.plusDays(i),
             EventDefaults.START_TIME.plusDays(i).plusHours(1)))
         .map(template::insert)
@@ -66,11 +115,217 @@ class EventRepositoryTest {
         ).verifyComplete();
   }
 
+  @Test
+  void find_events_overlapping_window() {
+
+    // Given
+    var day = LocalDate.of(2100, Month.JANUARY, 1);
+    var from = day.atTime(10, 0);
+    var to = day.atTime(12, 0);
+
+    template.insert(Event.from(UUID.randomUUID(), "Before", day.atTime(8, 0), day.atTime(10, 0)))
+        .then(template.insert(Event.from(UUID.randomUUID(), "Overlapping start", day.atTime(9, 0), day.atTime(11, 0))))
+        .then(template.insert(Event.from(UUID.randomUUID(), "Inside", day.atTime(10, 30), day.atTime(11, 30))))
+        .then(template.insert(Event.from(UUID.randomUUID(), "Spanning", day.atTime(6, 0), day.atTime(18, 0))))
+        .then(template.insert(Event.from(UUID.randomUUID(), "After", day.atTime(12, 0), day.atTime(13, 0))))
+
+        // When
+        .then(Mono.zip(
+            repository.findByStartTimeBeforeAndEndTimeAfter(to, from, PageRequest.of(0, 2, Sort.by("startTime")))
+                .collectList(),
+            repository.findByStartTimeBeforeAndEndTimeAfter(to, from, Sort.by("startTime")).collectList(),
+            repository.countByStartTimeBeforeAndEndTimeAfter(to, from)))
+
+        // Then
+        .as(StepVerifier::create)
+        .assertNext(result -> {
+          assertThat(result.getT1()).extracting(Event::title).containsExactly("Spanning", "Overlapping start");
+          assertThat(result.getT2()).extracting(Event::title)
+              .containsExactly("Spanning", "Overlapping start", "Inside");
+          assertThat(result.getT3()).isEqualTo(3L);
+        }).verifyComplete();
+  }
+
+  @Test
+  void find_event_slice_by_pageable() {
+
+    // Given
+    var inserts = IntStream.range(0, 50)
+        .mapToObj(i -> Event.from(UUID.randomUUID(), "Event" + i,
+            EventDefaults.START_TIME.plusDays(i),
+            EventDefaults.START_TIME.plusDays(i).plusHours(1)))
+        .map(template::insert)
+        .toList();
+
+    Mono.when(inserts)
+
+        // When
+        .then(repository.findSliceBy(PageRequest.of(1, 20, Sort.by("startTime"))).collectList())
+
+        // Then
+        .as(StepVerifier::create)
+        .assertNext(events -> {
+          assertThat(events).hasSize(21);
+          assertThat(events).extracting(Event::startTime).isSorted();
+        }).verifyComplete();
+  }
+
+  @Test
+  void find_events_by_keyset() {
+
+    // Given
+    var inserts = IntStream.range(0, 50)
+        .mapToObj(i -> Event.from(UUID.randomUUID(), "Event" + i,
+            EventDefaults.START_TIME.plusDays(i / 2),
+            EventDefaults.START_TIME.plusDays(i / 2).plusHours(1)))
+        .map(template::insert)
+        .toList();
+
+    Mono.when(inserts)
+
+        // When
+        .then(repository.findKeysetFirst(20).collectList())
+        .flatMap(first -> {
+          var last = first.get(first.size() - 1);
+          return repository.findKeysetAfter(last.startTime(), last.id(), 40).collectList()
+              .map(next -> Tuples.of(first, next));
+        })
+
+        // Then
+        .as(StepVerifier::create)
+        .assertNext(pages -> {
+          assertThat(pages.getT1()).hasSize(20);
+          assertThat(pages.getT2()).hasSizeGreaterThanOrEqualTo(30);
+          assertThat(pages.getT1()).extracting(Event::id)
+              .doesNotContainAnyElementsOf(pages.getT2().stream().map(Event::id).toList());
+          assertThat(pages.getT2()).extracting(Event::startTime)
+              .isSorted()
+              .allSatisfy(startTime -> assertThat(startTime).isAfterOrEqualTo(pages.getT1().get(19).startTime()));
+        }).verifyComplete();
+  }
+
+  @Test
+  void find_events_by_participant_person_id() {
+
+    // Given
+    var person = Person.from(UUID.randomUUID(), PersonDefaults.NAME);
+    var later = Event.from(UUID.randomUUID(), "Later",
+        EventDefaults.START_TIME.plusDays(1), EventDefaults.END_TIME.plusDays(1));
+    var earlier = Event.from(UUID.randomUUID(), "Earlier", EventDefaults.START_TIME, EventDefaults.END_TIME);
+    var other = Event.from(UUID.randomUUID(), "Other", EventDefaults.START_TIME, EventDefaults.END_TIME);
+
+    template.insert(person)
+        .then(template.insert(later))
+        .then(template.insert(earlier))
+        .then(template.insert(other))
+        .then(template.insert(Participant.from(UUID.randomUUID(), later.id(), person.id())))
+        .then(template.insert(Participant.from(UUID.randomUUID(), earlier.id(), person.id())))
+
+        // When
+        .then(Mono.zip(
+            repository.findByParticipantPersonId(person.id()).collectList(),
+            repository.findByParticipantPersonId(person.id(), 1, 1).collectList()))
+
+        // Then
+        .as(StepVerifier::create)
+        .assertNext(events -> {
+          assertThat(events.getT1()).extracting(Event::title).containsExactly("Earlier", "Later");
+          assertThat(events.getT2()).extracting(Event::title).containsExactly("Later");
+        }).verifyComplete();
+  }
+
+  @Test
+  void refresh_participant_count() {
+
+    // Given
+    var event = Event.from(UUID.randomUUID(), EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME);
+    var person = Person.from(UUID.randomUUID(), PersonDefaults.NAME);
+
+    template.insert(event)
+        .then(template.insert(person))
+        .then(template.insert(Participant.from(UUID.randomUUID(), event.id(), person.id())))
+
+        // When
+        .then(repository.findParticipantCountById(event.id()))
+        .flatMap(before -> repository.refreshParticipantCount(event.id())
+            .then(repository.findParticipantCountById(event.id()))
+            .map(after -> Tuples.of(before, after)))
+
+        // Then
+        .as(StepVerifier::create)
+        .assertNext(counts -> {
+          assertThat(counts.getT1()).isZero();
+          assertThat(counts.getT2()).isEqualTo(1L);
+        }).verifyComplete();
+  }
+
+  @Test
+  void count_participants_by_id() {
+
+    // Given
+    var event = Event.from(UUID.randomUUID(), EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME);
+    var person = Person.from(UUID.randomUUID(), PersonDefaults.NAME);
+
+    template.insert(event)
+        .then(template.insert(person))
+        .then(template.insert(Participant.from(UUID.randomUUID(), event.id(), person.id())))
+
+        // When
+        .thenMany(repository.countParticipantsById(event.id())
+            .concatWith(repository.countParticipantsById(UUID.randomUUID())))
+
+        // Then
+        .as(StepVerifier::create)
+        .expectNext(1L)
+        .verifyComplete();
+  }
+
+  @Test
+  void refresh_all_participant_counts() {
+
+    // Given
+    var event = Event.from(UUID.randomUUID(), EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME);
+    var person = Person.from(UUID.randomUUID(), PersonDefaults.NAME);
+
+    template.insert(event)
+        .then(template.insert(person))
+        .then(template.insert(Participant.from(UUID.randomUUID(), event.id(), person.id())))
+
+        // When
+        .then(repository.refreshParticipantCounts())
+        .then(repository.findParticipantCountById(event.id()))
+
+        // Then
+        .as(StepVerifier::create)
+        .expectNext(1L)
+        .verifyComplete();
+  }
+
+  @Test
+  void find_event_version_by_id() {
+    var id = UUID.randomUUID();
+
+    // Given
+    template.insert(
+            new Event(id, EventDefaults.TITLE,
+                EventDefaults.START_TIME, EventDefaults.END_TIME,
+                EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE, EventDefaults.VERSION))
+
+        // When
+        .then(repository.findVersionById(id))
+
+        // Then
+        .as(StepVerifier::create).assertNext(actual -> {
+          assertThat(actual.id()).isEqualTo(id);
+          assertThat(actual.lastModified()).isNotNull();
+        }).verifyComplete();
+  }
+
   @Test
   void save_event() {
 
     // Given
-    var event = Event.from(EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME);
+    var event = Event.from(UUID.randomUUID(), EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME);
 
     // When
     repository.save(event)
@@ -86,11 +341,64 @@ class EventRepositoryTest {
         }).verifyComplete();
   }
 
+  @Test
+  void update_event_increments_version() {
+
+    // Given
+    template.insert(
+            new Event(UUID.randomUUID(), EventDefaults.TITLE,
+                EventDefaults.START_TIME, EventDefaults.END_TIME,
+                EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE, null))
+
+        // When
+        .flatMap(event -> repository.save(event.copy(title -> EventDefaults.OTHER_TITLE, start -> start, end -> end)))
+
+        // Then
+        .as(StepVerifier::create).assertNext(actual -> {
+          assertThat(actual.title()).isEqualTo(EventDefaults.OTHER_TITLE);
+          assertThat(actual.version()).isEqualTo(1L);
+        }).verifyComplete();
+  }
+
+  @Test
+  void update_event_with_stale_version_fails() {
+
+    // Given
+    template.insert(
+            new Event(UUID.randomUUID(), EventDefaults.TITLE,
+                EventDefaults.START_TIME, EventDefaults.END_TIME,
+                EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE, null))
+        .flatMap(event -> repository.save(event.copy(title -> EventDefaults.OTHER_TITLE, start -> start, end -> end))
+
+            // When
+            .then(repository.save(event.copy(title -> "Stale", start -> start, end -> end))))
+
+        // Then
+        .as(StepVerifier::create)
+        .verifyError(OptimisticLockingFailureException.class);
+  }
+
+  @Test
+  void insert_all_events_sets_initial_version() {
+
+    // Given
+    var event = Event.from(UUID.randomUUID(), EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME);
+
+    // When
+    repository.insertAll(List.of(event))
+        .then(repository.findVersionById(event.id()))
+
+        // Then
+        .as(StepVerifier::create)
+        .assertNext(actual -> assertThat(actual.version()).isZero())
+        .verifyComplete();
+  }
+
   @Test
   void save_event_with_too_long_title() {
     var title = "X".repeat(300);
 
-    repository.save(Event.from(title, EventDefaults.START_TIME, EventDefaults.END_TIME))
+    repository.save(Event.from(UUID.randomUUID(), title, EventDefaults.START_TIME, EventDefaults.END_TIME))
         .as(StepVerifier::create)
         .expectErrorSatisfies(exception ->
             assertThat(exception)
@@ -2,17 +2,21 @@ package se.kry.springboot.demo.handson.data;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 import se.kry.springboot.demo.handson.domain.EventDefaults;
 import se.kry.springboot.demo.handson.domain.PersonDefaults;
 
-@DataR2dbcTest
+@DataR2dbcTest(properties = "handson.data.batch-size=2")
 class ParticipantRepositoryTest {
 
   @Autowired
@@ -30,7 +34,7 @@ class ParticipantRepositoryTest {
     template.insert(
             Event.from(eventId, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME))
         .then(template.insert(Person.from(personId, PersonDefaults.NAME)))
-        .then(template.insert(Participant.from(eventId, personId)))
+        .then(template.insert(Participant.from(UUID.randomUUID(), eventId, personId)))
 
         // When
         .thenMany(repository.findByEventId(eventId))
@@ -61,10 +65,10 @@ class ParticipantRepositoryTest {
 
         // When
         .then(repository.saveAll(Flux.just(
-                Participant.from(event1Id, person1Id),
-                Participant.from(event2Id, person1Id),
-                Participant.from(event1Id, person2Id),
-                Participant.from(event2Id, person2Id)))
+                Participant.from(UUID.randomUUID(), event1Id, person1Id),
+                Participant.from(UUID.randomUUID(), event2Id, person1Id),
+                Participant.from(UUID.randomUUID(), event1Id, person2Id),
+                Participant.from(UUID.randomUUID(), event2Id, person2Id)))
             .collectList())
 
         // Then
@@ -74,4 +78,82 @@ class ParticipantRepositoryTest {
         .verifyComplete();
   }
 
-}
\ No newline at end of file
+  @Test
+  void delete_all_by_event_id_and_person_ids() {
+    // Given
+    var eventId = UUID.randomUUID();
+    var keptId = UUID.randomUUID();
+    var removedId = UUID.randomUUID();
+
+    template.insert(
+            Event.from(eventId, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME))
+        .then(template.insert(Person.from(keptId, PersonDefaults.NAME)))
+        .then(template.insert(Person.from(removedId, PersonDefaults.OTHER_NAME)))
+        .then(template.insert(Participant.from(UUID.randomUUID(), eventId, keptId)))
+        .then(template.insert(Participant.from(UUID.randomUUID(), eventId, removedId)))
+
+        // When
+        .then(repository.deleteAllByEventIdAndPersonIdIn(eventId, List.of(removedId)))
+        .thenMany(repository.findByEventId(eventId).map(Participant::personId))
+
+        // Then
+        .as(StepVerifier::create)
+        .expectNext(keptId)
+        .verifyComplete();
+  }
+
+  @Test
+  void count_participants() {
+    // Given
+    var eventId = UUID.randomUUID();
+    var personId = UUID.randomUUID();
+    var otherPersonId = UUID.randomUUID();
+
+    template.insert(
+            Event.from(eventId, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME))
+        .then(template.insert(Person.from(personId, PersonDefaults.NAME)))
+        .then(template.insert(Person.from(otherPersonId, PersonDefaults.OTHER_NAME)))
+        .then(template.insert(Participant.from(UUID.randomUUID(), eventId, personId)))
+
+        // When
+        .then(Mono.zip(
+            repository.countByEventIdAndPersonId(eventId, personId),
+            repository.countByEventIdAndPersonId(eventId, otherPersonId),
+            repository.countByPersonId(personId)))
+
+        // Then
+        .as(StepVerifier::create)
+        .assertNext(counts -> {
+          assertThat(counts.getT1()).isEqualTo(1L);
+          assertThat(counts.getT2()).isZero();
+          assertThat(counts.getT3()).isEqualTo(1L);
+        }).verifyComplete();
+  }
+
+  @Test
+  void insert_all_in_batches() {
+    // Given
+    var eventId = UUID.randomUUID();
+    var personIds = IntStream.range(0, 5).mapToObj(i -> UUID.randomUUID()).toList();
+
+    template.insert(
+            Event.from(eventId, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME))
+        .thenMany(Flux.fromIterable(personIds).concatMap(personId ->
+            template.insert(Person.from(personId, PersonDefaults.NAME))))
+
+        // When
+        .thenMany(repository.insertAll(personIds.stream()
+            .map(personId -> Participant.from(UUID.randomUUID(), eventId, personId))
+            .toList()))
+        .thenMany(repository.findByEventId(eventId))
+
+        // Then
+        .as(StepVerifier::create)
+        .recordWith(ArrayList::new)
+        .expectNextCount(5)
+        .consumeRecordedWith(participants ->
+            assertThat(participants).extracting(Participant::personId).containsExactlyInAnyOrderElementsOf(personIds))
+        .verifyComplete();
+  }
+
+}
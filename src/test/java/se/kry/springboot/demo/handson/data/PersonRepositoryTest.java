@@ -2,20 +2,24 @@ package se.kry.springboot.demo.handson.data;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import java.util.UUID;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.dao.UncategorizedDataAccessException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.util.function.Tuples;
 import se.kry.springboot.demo.handson.domain.EventDefaults;
 import se.kry.springboot.demo.handson.domain.PersonDefaults;
 
-@DataR2dbcTest
+@DataR2dbcTest(properties = "handson.data.batch-size=2")
 class PersonRepositoryTest {
 
   @Autowired
@@ -24,9 +28,48 @@ class PersonRepositoryTest {
   @Autowired
   private PersonRepository repository;
 
+  @Test
+  void find_person_version_by_id() {
+    var id = UUID.randomUUID();
+
+    // Given
+    template.insert(
+            new Person(id, PersonDefaults.NAME,
+                PersonDefaults.CREATED_DATE, PersonDefaults.LAST_MODIFIED_DATE, PersonDefaults.VERSION))
+
+        // When
+        .then(repository.findVersionById(id))
+
+        // Then
+        .as(StepVerifier::create).assertNext(actual -> {
+          assertThat(actual.id()).isEqualTo(id);
+          assertThat(actual.lastModified()).isNotNull();
+        }).verifyComplete();
+  }
+
+  @Test
+  void find_people_in_order_across_batches() {
+    var first = Person.from(UUID.randomUUID(), PersonDefaults.NAME);
+    var second = Person.from(UUID.randomUUID(), PersonDefaults.OTHER_NAME);
+    var third = Person.from(UUID.randomUUID(), PersonDefaults.NAME);
+
+    // Given
+    repository.insertAll(List.of(first, second, third))
+
+        // When
+        .thenMany(repository.findAllInOrder(
+            List.of(third.id(), UUID.randomUUID(), first.id(), second.id(), third.id())))
+
+        // Then
+        .map(Person::id)
+        .as(StepVerifier::create)
+        .expectNext(third.id(), first.id(), second.id(), third.id())
+        .verifyComplete();
+  }
+
   @Test
   void save_person() {
-    repository.save(Person.from(PersonDefaults.NAME))
+    repository.save(Person.from(UUID.randomUUID(), PersonDefaults.NAME))
         .as(StepVerifier::create)
         .assertNext(person -> {
           assertThat(person.id()).isNotNull();
@@ -35,11 +78,28 @@ class PersonRepositoryTest {
         .verifyComplete();
   }
 
+  @Test
+  void update_person_with_stale_version_fails() {
+
+    // Given
+    template.insert(
+            new Person(UUID.randomUUID(), PersonDefaults.NAME,
+                PersonDefaults.CREATED_DATE, PersonDefaults.LAST_MODIFIED_DATE, null))
+        .flatMap(person -> repository.save(person.copy(name -> PersonDefaults.OTHER_NAME))
+
+            // When
+            .then(repository.save(person.copy(name -> "Stale"))))
+
+        // Then
+        .as(StepVerifier::create)
+        .verifyError(OptimisticLockingFailureException.class);
+  }
+
   @Test
   void save_person_with_too_long_name() {
     var name = "X".repeat(300);
 
-    repository.save(Person.from(name))
+    repository.save(Person.from(UUID.randomUUID(), name))
         .as(StepVerifier::create)
         .expectErrorSatisfies(exception ->
             assertThat(exception)
@@ -53,7 +113,7 @@ class PersonRepositoryTest {
 
     // Given
     var inserts = IntStream.range(0, 50)
-        .mapToObj(i -> Person.from(PersonDefaults.NAME + ' ' + i))
+        .mapToObj(i -> Person.from(UUID.randomUUID(), PersonDefaults.NAME + ' ' + i))
         .map(template::insert)
         .toList();
 
@@ -69,6 +129,57 @@ class PersonRepositoryTest {
         ).verifyComplete();
   }
 
+  @Test
+  void find_person_slice_by_pageable() {
+
+    // Given
+    var inserts = IntStream.range(0, 50)
+        .mapToObj(i -> Person.from(UUID.randomUUID(), PersonDefaults.NAME + ' ' + i))
+        .map(template::insert)
+        .toList();
+
+    Mono.when(inserts)
+
+        // When
+        .then(repository.findSliceBy(PageRequest.of(1, 20)).collectList())
+
+        // Then
+        .as(StepVerifier::create)
+        .assertNext(people ->
+            assertThat(people).hasSize(21)
+        ).verifyComplete();
+  }
+
+  @Test
+  void find_people_by_keyset() {
+
+    // Given
+    var inserts = IntStream.range(0, 50)
+        .mapToObj(i -> Person.from(UUID.randomUUID(), PersonDefaults.NAME + ' ' + (i / 2)))
+        .map(template::insert)
+        .toList();
+
+    Mono.when(inserts)
+
+        // When
+        .then(repository.findKeysetFirst(20).collectList())
+        .flatMap(first -> {
+          var last = first.get(first.size() - 1);
+          return repository.findKeysetAfter(last.name(), last.id(), 40).collectList()
+              .map(next -> Tuples.of(first, next));
+        })
+
+        // Then
+        .as(StepVerifier::create)
+        .assertNext(pages -> {
+          assertThat(pages.getT1()).hasSize(20);
+          assertThat(pages.getT2()).hasSizeGreaterThanOrEqualTo(30);
+          assertThat(pages.getT1()).extracting(Person::id)
+              .doesNotContainAnyElementsOf(pages.getT2().stream().map(Person::id).toList());
+          assertThat(pages.getT2()).extracting(Person::name).isSorted();
+        }).verifyComplete();
+  }
+
   @Test
   void find_participants_by_event_id() {
     // Given
@@ -78,7 +189,7 @@ class PersonRepositoryTest {
     template.insert(
             Event.from(eventId, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME))
         .then(template.insert(Person.from(personId, PersonDefaults.NAME)))
-        .then(template.insert(Participant.from(eventId, personId)))
+        .then(template.insert(Participant.from(UUID.randomUUID(), eventId, personId)))
 
         // When
         .thenMany(repository.findParticipantsByEventId(eventId))
@@ -0,0 +1,22 @@
+package se.kry.springboot.demo.handson.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class EventCursorTest {
+
+  @Test
+  void parse_token() {
+    var cursor = new EventCursor(EventDefaults.START_TIME, EventDefaults.ID);
+
+    assertThat(EventCursor.parse(cursor.token())).isEqualTo(cursor);
+  }
+
+  @Test
+  void parse_invalid_token_fails() {
+    assertThatThrownBy(() -> EventCursor.parse("foobar"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -27,6 +27,8 @@ public interface EventDefaults {
 
   Instant LAST_MODIFIED_DATE = Instant.EPOCH;
 
+  Long VERSION = 0L;
+
   String OTHER_ID_STRING = "8ebea9a7-e0ef-4a62-a729-aff26134f9d8";
 
   UUID OTHER_ID = UUID.fromString(OTHER_ID_STRING);
@@ -0,0 +1,38 @@
+package se.kry.springboot.demo.handson.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import org.springframework.boot.test.json.JacksonTester;
+
+@JsonTest
+class EventLookupRequestJsonTest {
+
+  @Autowired
+  private JacksonTester<EventLookupRequest> jacksonTester;
+
+  @Test
+  void serialize() throws IOException {
+    var ids = List.of(
+        UUID.fromString("a04aff4e-c93d-4553-a746-d649b3b2d4bb"),
+        UUID.fromString("35912aed-42b3-4307-946a-8eb1d7d34894"));
+
+    var jsonContent = jacksonTester.write(new EventLookupRequest(ids));
+    assertThat(jsonContent).isEqualToJson("EventLookupRequest.json");
+  }
+
+  @Test
+  void deserialize() throws IOException {
+    var eventLookup = jacksonTester.readObject("EventLookupRequest.json");
+
+    assertThat(eventLookup).isNotNull();
+    assertThat(eventLookup.ids()).containsExactly(
+        UUID.fromString("a04aff4e-c93d-4553-a746-d649b3b2d4bb"),
+        UUID.fromString("35912aed-42b3-4307-946a-8eb1d7d34894"));
+  }
+}
@@ -0,0 +1,22 @@
+package se.kry.springboot.demo.handson.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class PersonCursorTest {
+
+  @Test
+  void parse_token() {
+    var cursor = new PersonCursor("Doe | John", PersonDefaults.ID);
+
+    assertThat(PersonCursor.parse(cursor.token())).isEqualTo(cursor);
+  }
+
+  @Test
+  void parse_invalid_token_fails() {
+    assertThatThrownBy(() -> PersonCursor.parse("foobar"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -15,6 +15,8 @@ public interface PersonDefaults {
 
   Instant LAST_MODIFIED_DATE = Instant.EPOCH;
 
+  Long VERSION = 0L;
+
   String OTHER_ID_STRING = "b5130fc9-aec2-4a54-b2ae-a709195041cf";
 
   UUID OTHER_ID = UUID.fromString(OTHER_ID_STRING);
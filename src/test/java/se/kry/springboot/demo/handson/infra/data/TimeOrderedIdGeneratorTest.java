@@ -0,0 +1,56 @@
+package se.kry.springboot.demo.handson.infra.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class TimeOrderedIdGeneratorTest {
+
+  private static final Comparator<UUID> UNSIGNED_ORDER = Comparator
+      .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+      .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
+  @Test
+  void generates_version_7_ids() {
+    var generator = new TimeOrderedIdGenerator(Clock.systemUTC());
+
+    var id = generator.generateId();
+
+    assertThat(id.version()).isEqualTo(7);
+    assertThat(id.variant()).isEqualTo(2);
+  }
+
+  @Test
+  void encodes_clock_millis_in_leading_bits() {
+    var instant = Instant.parse("2001-01-01T00:00:00Z");
+    var generator = new TimeOrderedIdGenerator(Clock.fixed(instant, ZoneOffset.UTC));
+
+    var id = generator.generateId();
+
+    assertThat(id.getMostSignificantBits() >>> 16).isEqualTo(instant.toEpochMilli());
+  }
+
+  @Test
+  void ids_are_ordered_within_the_same_millisecond() {
+    var generator = new TimeOrderedIdGenerator(Clock.fixed(Instant.now(), ZoneOffset.UTC));
+
+    var ids = IntStream.range(0, 10_000).mapToObj(i -> generator.generateId()).toList();
+
+    assertThat(ids).isSortedAccordingTo(UNSIGNED_ORDER).doesNotHaveDuplicates();
+  }
+
+  @Test
+  void ids_are_unique_across_threads() {
+    var generator = new TimeOrderedIdGenerator(Clock.systemUTC());
+
+    var ids = IntStream.range(0, 100_000).parallel().mapToObj(i -> generator.generateId()).toList();
+
+    assertThat(ids).doesNotHaveDuplicates();
+  }
+}
@@ -0,0 +1,77 @@
+package se.kry.springboot.demo.handson.infra.data.r2dbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveAllocationStrategyTest {
+
+  private static final long SLOW = Duration.ofMillis(50).toNanos();
+
+  private static final long FAST = Duration.ofMillis(1).toNanos();
+
+  @Test
+  void grants_permits_up_to_limit() {
+    var strategy = new AdaptiveAllocationStrategy(2, 10, Duration.ofMillis(10), Duration.ZERO);
+
+    assertThat(strategy.getPermits(1)).isEqualTo(2);
+    assertThat(strategy.getPermits(1)).isZero();
+    assertThat(strategy.permitGranted()).isEqualTo(2);
+    assertThat(strategy.estimatePermitCount()).isZero();
+
+    strategy.returnPermits(1);
+
+    assertThat(strategy.estimatePermitCount()).isEqualTo(1);
+    assertThat(strategy.getPermits(3)).isEqualTo(1);
+  }
+
+  @Test
+  void grows_limit_when_acquire_is_slow() {
+    var strategy = new AdaptiveAllocationStrategy(4, 10, Duration.ofMillis(10), Duration.ZERO);
+
+    strategy.onAcquire(SLOW);
+    assertThat(strategy.limit()).isEqualTo(5);
+
+    strategy.onAcquire(SLOW);
+    strategy.onAcquire(SLOW);
+    strategy.onAcquire(SLOW);
+    strategy.onAcquire(SLOW);
+    assertThat(strategy.limit()).isEqualTo(10);
+    assertThat(strategy.getPermits(20)).isEqualTo(10);
+  }
+
+  @Test
+  void shrinks_limit_when_acquire_is_fast() {
+    var strategy = new AdaptiveAllocationStrategy(2, 10, Duration.ofMillis(10), Duration.ZERO);
+    strategy.onAcquire(SLOW);
+    strategy.onAcquire(SLOW);
+    assertThat(strategy.limit()).isEqualTo(4);
+
+    strategy.onAcquire(FAST);
+    strategy.onAcquire(FAST);
+    strategy.onAcquire(FAST);
+
+    assertThat(strategy.limit()).isEqualTo(2);
+  }
+
+  @Test
+  void grows_limit_when_acquire_times_out() {
+    var strategy = new AdaptiveAllocationStrategy(4, 10, Duration.ofMillis(10), Duration.ZERO);
+
+    strategy.onAcquire(FAST, true);
+
+    assertThat(strategy.limit()).isEqualTo(5);
+  }
+
+  @Test
+  void rejects_too_many_returned_permits() {
+    var strategy = new AdaptiveAllocationStrategy(1, 10, Duration.ofMillis(10), Duration.ZERO);
+    strategy.getPermits(1);
+
+    assertThatIllegalArgumentException().isThrownBy(() -> strategy.returnPermits(2));
+    assertThat(strategy.permitGranted()).isEqualTo(1);
+  }
+
+}
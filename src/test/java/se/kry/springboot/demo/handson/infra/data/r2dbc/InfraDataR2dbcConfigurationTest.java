@@ -0,0 +1,38 @@
+package se.kry.springboot.demo.handson.infra.data.r2dbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.dialect.H2Dialect;
+import org.springframework.data.r2dbc.dialect.MySqlDialect;
+import se.kry.springboot.demo.handson.infra.data.r2dbc.UuidConverters.BytesToUuidConverter;
+import se.kry.springboot.demo.handson.infra.data.r2dbc.UuidConverters.UuidToBytesConverter;
+
+class InfraDataR2dbcConfigurationTest {
+
+  @Test
+  void mysql_stores_uuid_as_binary() {
+    var conversions = InfraDataR2dbcConfiguration.customConversions(MySqlDialect.INSTANCE);
+
+    assertThat(conversions.getCustomWriteTarget(UUID.class)).contains(byte[].class);
+    assertThat(conversions.hasCustomReadTarget(byte[].class, UUID.class)).isTrue();
+  }
+
+  @Test
+  void h2_stores_uuid_natively() {
+    var conversions = InfraDataR2dbcConfiguration.customConversions(H2Dialect.INSTANCE);
+
+    assertThat(conversions.getCustomWriteTarget(UUID.class)).isEmpty();
+  }
+
+  @Test
+  void uuid_binary_round_trip() {
+    var uuid = UUID.fromString("e1c47fc3-472d-4c14-8d7a-c1b4d1dbdfe5");
+
+    var bytes = UuidToBytesConverter.INSTANCE.convert(uuid);
+
+    assertThat(bytes).hasSize(16).startsWith((byte) 0xe1, (byte) 0xc4, (byte) 0x7f, (byte) 0xc3);
+    assertThat(BytesToUuidConverter.INSTANCE.convert(bytes)).isEqualTo(uuid);
+  }
+}
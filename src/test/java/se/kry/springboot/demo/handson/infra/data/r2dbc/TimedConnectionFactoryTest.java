@@ -0,0 +1,77 @@
+package se.kry.springboot.demo.handson.infra.data.r2dbc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class TimedConnectionFactoryTest {
+
+  private final ConnectionFactory delegate = mock(ConnectionFactory.class);
+
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  private final List<Boolean> reports = new ArrayList<>();
+
+  private final TimedConnectionFactory connectionFactory = new TimedConnectionFactory(
+      delegate, registry.timer("acquire"), (nanos, timedOut) -> reports.add(timedOut));
+
+  @Test
+  void reports_acquired_connection() {
+    // Given
+    when(delegate.create()).thenAnswer(invocation -> Mono.just(mock(Connection.class)));
+
+    // When
+    connectionFactory.create()
+        .as(StepVerifier::create)
+        .expectNextCount(1)
+        .verifyComplete();
+
+    // Then
+    assertThat(reports).containsExactly(false);
+    assertThat(registry.timer("acquire").count()).isEqualTo(1);
+  }
+
+  @Test
+  void reports_timed_out_acquisition() {
+    // Given
+    when(delegate.create()).thenAnswer(invocation -> Mono.error(new R2dbcTimeoutException("timeout")));
+
+    // When
+    connectionFactory.create()
+        .as(StepVerifier::create)
+        .verifyError(R2dbcTimeoutException.class);
+
+    // Then
+    assertThat(reports).containsExactly(true);
+    assertThat(registry.timer("acquire").count()).isEqualTo(1);
+  }
+
+  @Test
+  void reports_abandoned_acquisition() {
+    // Given
+    when(delegate.create()).thenAnswer(invocation -> Mono.never());
+
+    // When
+    connectionFactory.create()
+        .as(StepVerifier::create)
+        .expectSubscription()
+        .expectNoEvent(Duration.ofMillis(10))
+        .thenCancel()
+        .verify();
+
+    // Then
+    assertThat(reports).containsExactly(false);
+    assertThat(registry.timer("acquire").count()).isEqualTo(1);
+  }
+}
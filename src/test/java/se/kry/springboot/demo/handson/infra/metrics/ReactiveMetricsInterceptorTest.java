@@ -0,0 +1,133 @@
+package se.kry.springboot.demo.handson.infra.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import reactor.test.util.RaceTestUtils;
+import se.kry.springboot.demo.handson.infra.metrics.InfraMetricsConfiguration.MeterNames;
+
+class ReactiveMetricsInterceptorTest {
+
+  private SimpleMeterRegistry registry;
+
+  private DefaultPointcutAdvisor advisor;
+
+  @BeforeEach
+  void setUp() {
+    registry = new SimpleMeterRegistry();
+    advisor = new DefaultPointcutAdvisor(new ReactiveMetricsPointcut(), new ReactiveMetricsInterceptor(() -> registry));
+  }
+
+  @Test
+  void records_service_calls() {
+    var proxyFactory = new ProxyFactory(new Greeter());
+    proxyFactory.setProxyTargetClass(true);
+    proxyFactory.addAdvisor(advisor);
+    var greeter = (Greeter) proxyFactory.getProxy();
+
+    greeter.greet("foo").then(greeter.greet("bar"))
+        .as(StepVerifier::create)
+        .expectNext("Hello bar")
+        .verifyComplete();
+    greeter.fail()
+        .as(StepVerifier::create)
+        .verifyError(IllegalStateException.class);
+
+    assertThat(registry.get(MeterNames.CALLS)
+        .tags("layer", "service", "class", "Greeter", "method", "greet", "outcome", "SUCCESS")
+        .timer().count()).isEqualTo(2);
+    assertThat(registry.get(MeterNames.CALLS)
+        .tags("layer", "service", "class", "Greeter", "method", "fail", "outcome", "ERROR")
+        .tag("exception", "IllegalStateException")
+        .timer().count()).isEqualTo(1);
+    assertThat(registry.find(MeterNames.CALLS).tag("method", "describe").timer()).isNull();
+  }
+
+  @Test
+  void records_repository_rows() {
+    var target = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Things.class},
+        (proxy, method, args) -> Flux.just("foo", "bar", "baz"));
+    var proxyFactory = new ProxyFactory(target);
+    proxyFactory.addAdvisor(advisor);
+    var things = (Things) proxyFactory.getProxy();
+
+    things.findAll()
+        .as(StepVerifier::create)
+        .expectNextCount(3)
+        .verifyComplete();
+    things.findAll().take(1)
+        .as(StepVerifier::create)
+        .expectNextCount(1)
+        .verifyComplete();
+
+    assertThat(registry.get(MeterNames.CALLS)
+        .tags("layer", "repository", "class", "Things", "method", "findAll", "outcome", "SUCCESS")
+        .timer().count()).isEqualTo(1);
+    assertThat(registry.get(MeterNames.CALLS)
+        .tags("layer", "repository", "class", "Things", "method", "findAll", "outcome", "CANCELLED")
+        .timer().count()).isEqualTo(1);
+    assertThat(registry.get(MeterNames.ROWS)
+        .tags("layer", "repository", "class", "Things", "method", "findAll")
+        .summary().totalAmount()).isEqualTo(4);
+  }
+
+  @Test
+  void records_once_when_cancelled_concurrently_with_completion() {
+    var sink = new AtomicReference<Sinks.Many<String>>();
+    var target = Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] {Things.class},
+        (proxy, method, args) -> sink.get().asFlux());
+    var proxyFactory = new ProxyFactory(target);
+    proxyFactory.addAdvisor(advisor);
+    var things = (Things) proxyFactory.getProxy();
+
+    for (var i = 0; i < 1000; i++) {
+      var current = Sinks.many().unicast().<String>onBackpressureBuffer();
+      sink.set(current);
+      var subscription = new AtomicReference<Subscription>();
+      things.findAll().doOnSubscribe(subscription::set).subscribe();
+      current.tryEmitNext("foo");
+      RaceTestUtils.race(() -> subscription.get().cancel(), current::tryEmitComplete);
+    }
+
+    assertThat(registry.find(MeterNames.CALLS).tag("method", "findAll").timers().stream().mapToLong(Timer::count).sum())
+        .isEqualTo(1000);
+    var rows = registry.get(MeterNames.ROWS).tag("method", "findAll").summary();
+    assertThat(rows.count()).isEqualTo(1000);
+    assertThat(rows.totalAmount()).isEqualTo(1000);
+  }
+
+  @Service
+  static class Greeter {
+
+    Mono<String> greet(String name) {
+      return Mono.just("Hello " + name);
+    }
+
+    Mono<String> fail() {
+      return Mono.error(new IllegalStateException());
+    }
+
+    String describe() {
+      return "Greeter";
+    }
+  }
+
+  interface Things extends Repository<String, String> {
+
+    Flux<String> findAll();
+  }
+}
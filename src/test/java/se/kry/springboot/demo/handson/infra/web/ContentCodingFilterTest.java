@@ -0,0 +1,73 @@
+package se.kry.springboot.demo.handson.infra.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.test.StepVerifier;
+import se.kry.springboot.demo.handson.infra.web.InfraWebConfiguration.ExchangeAttributes;
+
+class ContentCodingFilterTest {
+
+  private final ContentCodingFilter filter = new ContentCodingFilter(List.of(MediaType.APPLICATION_JSON));
+
+  @Test
+  void content_coding_prefers_gzip() {
+    assertThat(ContentCodingFilter.contentCoding(List.of("deflate, gzip"))).isEqualTo("gzip");
+    assertThat(ContentCodingFilter.contentCoding(List.of("gzip;q=0.5", "deflate"))).isEqualTo("deflate");
+    assertThat(ContentCodingFilter.contentCoding(List.of("*"))).isEqualTo("gzip");
+    assertThat(ContentCodingFilter.contentCoding(List.of("gzip;q=0, *;q=0"))).isNull();
+    assertThat(ContentCodingFilter.contentCoding(List.of("br, identity"))).isNull();
+    assertThat(ContentCodingFilter.contentCoding(null)).isNull();
+  }
+
+  @Test
+  void varies_compressible_responses_on_accept_encoding() {
+    var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/")
+        .header(HttpHeaders.ACCEPT_ENCODING, "gzip"));
+
+    filter.filter(exchange, chained -> {
+          chained.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+          return chained.getResponse().setComplete();
+        })
+        .as(StepVerifier::create)
+        .verifyComplete();
+
+    assertThat(exchange.getResponse().getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+    assertThat(exchange.<String>getAttribute(ExchangeAttributes.CONTENT_CODING)).isEqualTo("gzip");
+  }
+
+  @Test
+  void does_not_vary_other_responses() {
+    var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+
+    filter.filter(exchange, chained -> {
+          chained.getResponse().getHeaders().setContentType(MediaType.TEXT_EVENT_STREAM);
+          return chained.getResponse().setComplete();
+        })
+        .as(StepVerifier::create)
+        .verifyComplete();
+
+    assertThat(exchange.getResponse().getHeaders().getVary()).isEmpty();
+    assertThat(exchange.getAttributes()).doesNotContainKey(ExchangeAttributes.CONTENT_CODING);
+  }
+
+  @Test
+  void varies_not_modified_responses_on_accept_encoding() {
+    var exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/"));
+
+    filter.filter(exchange, chained -> {
+          chained.getResponse().setStatusCode(HttpStatus.NOT_MODIFIED);
+          return chained.getResponse().setComplete();
+        })
+        .as(StepVerifier::create)
+        .verifyComplete();
+
+    assertThat(exchange.getResponse().getHeaders().getVary()).containsExactly(HttpHeaders.ACCEPT_ENCODING);
+  }
+}
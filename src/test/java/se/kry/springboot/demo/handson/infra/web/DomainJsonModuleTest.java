@@ -0,0 +1,89 @@
+package se.kry.springboot.demo.handson.infra.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.exc.ValueInstantiationException;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+import se.kry.springboot.demo.handson.domain.EventCreationRequest;
+import se.kry.springboot.demo.handson.domain.EventDefaults;
+import se.kry.springboot.demo.handson.domain.EventResponse;
+import se.kry.springboot.demo.handson.domain.EventUpdateRequest;
+import se.kry.springboot.demo.handson.domain.PersonDefaults;
+import se.kry.springboot.demo.handson.domain.PersonResponse;
+import se.kry.springboot.demo.handson.domain.PersonUpdateRequest;
+
+@JsonTest
+class DomainJsonModuleTest {
+
+  @Autowired
+  private ObjectMapper objectMapper;
+
+  @Test
+  void registered_with_object_mapper() throws IOException {
+    assertThat(objectMapper.getSerializerProviderInstance().findValueSerializer(EventResponse.class))
+        .isInstanceOf(EventJson.ResponseSerializer.class);
+  }
+
+  @Test
+  void serialize_event_response() throws IOException {
+    var json = objectMapper.writeValueAsString(
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME));
+
+    assertThat(json).isEqualTo("{\"id\":\"" + EventDefaults.ID_STRING + "\",\"title\":\"" + EventDefaults.TITLE
+        + "\",\"startTime\":\"" + EventDefaults.START_TIME_STRING + "\",\"endTime\":\""
+        + EventDefaults.END_TIME_STRING + "\"}");
+  }
+
+  @Test
+  void serialize_person_response_with_null_name() throws IOException {
+    var json = objectMapper.writeValueAsString(new PersonResponse(PersonDefaults.ID, null));
+
+    assertThat(json).isEqualTo("{\"id\":\"" + PersonDefaults.ID_STRING + "\",\"name\":null}");
+  }
+
+  @Test
+  void deserialize_ignores_unknown_properties() throws IOException {
+    var request = objectMapper.readValue(
+        "{\"other\":{\"nested\":[1,2]},\"title\":\"" + EventDefaults.TITLE + "\",\"startTime\":null}",
+        EventUpdateRequest.class);
+
+    assertThat(request.title()).hasValue(EventDefaults.TITLE);
+    assertThat(request.startTime()).isEmpty();
+    assertThat(request.endTime()).isEmpty();
+  }
+
+  @Test
+  void deserialize_date_time_outside_canonical_layout() throws IOException {
+    var request = objectMapper.readValue("{\"startTime\":\"2001-01-01T12:00\"}", EventUpdateRequest.class);
+
+    assertThat(request.startTime()).hasValue(EventDefaults.START_TIME);
+  }
+
+  @Test
+  void deserialize_null_as_empty() throws IOException {
+    var request = objectMapper.readValue("{\"name\":null}", PersonUpdateRequest.class);
+
+    assertThat(request.name()).isEmpty();
+  }
+
+  @Test
+  void deserialize_start_after_end_fails() {
+    var json = "{\"title\":\"" + EventDefaults.TITLE + "\",\"startTime\":\"" + EventDefaults.END_TIME_STRING
+        + "\",\"endTime\":\"" + EventDefaults.START_TIME_STRING + "\"}";
+
+    assertThatExceptionOfType(ValueInstantiationException.class)
+        .isThrownBy(() -> objectMapper.readValue(json, EventCreationRequest.class));
+  }
+
+  @Test
+  void deserialize_non_object_fails() {
+    assertThatExceptionOfType(MismatchedInputException.class)
+        .isThrownBy(() -> objectMapper.readValue("[]", EventUpdateRequest.class));
+  }
+}
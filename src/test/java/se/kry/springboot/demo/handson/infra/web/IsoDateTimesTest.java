@@ -0,0 +1,57 @@
+package se.kry.springboot.demo.handson.infra.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class IsoDateTimesTest {
+
+  static Stream<LocalDateTime> values() {
+    var base = LocalDateTime.of(2001, 1, 1, 12, 0);
+    return Stream.of(
+        base,
+        base.withSecond(59),
+        base.withNano(500_000_000),
+        base.withNano(123_456_000),
+        base.withNano(1),
+        LocalDateTime.of(9, 12, 31, 23, 59, 59, 999_999_999),
+        LocalDateTime.of(2024, 2, 29, 0, 0));
+  }
+
+  @ParameterizedTest
+  @MethodSource("values")
+  void format_matches_formatter(LocalDateTime value) {
+    var buffer = new char[IsoDateTimes.MAX_LENGTH];
+
+    var length = IsoDateTimes.format(value, buffer);
+
+    assertThat(new String(buffer, 0, length)).isEqualTo(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+  }
+
+  @ParameterizedTest
+  @MethodSource("values")
+  void parse_round_trips(LocalDateTime value) {
+    var text = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value).toCharArray();
+
+    assertThat(IsoDateTimes.parse(text, 0, text.length)).isEqualTo(value);
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "2001-01-01T12:00", "2001-01-01T12:00:00.", "2001-01-01T12:00:00Z", "2001-01-01 12:00:00",
+      "2001-13-01T12:00:00", "2001-02-30T12:00:00", "2001-01-01T12:00:0x", "+12001-01-01T12:00:00"})
+  void parse_unsupported(String text) {
+    assertThat(IsoDateTimes.parse(text.toCharArray(), 0, text.length())).isNull();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {-1, 10_000})
+  void format_unsupported_year(int year) {
+    assertThat(IsoDateTimes.format(LocalDateTime.of(year, 1, 1, 0, 0), new char[IsoDateTimes.MAX_LENGTH])).isNegative();
+  }
+}
@@ -0,0 +1,67 @@
+package se.kry.springboot.demo.handson.infra.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.UnpooledByteBufAllocator;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import se.kry.springboot.demo.handson.domain.EventDefaults;
+import se.kry.springboot.demo.handson.domain.EventResponse;
+
+class PooledJsonEncoderTest {
+
+  private static final ResolvableType EVENT_LIST = ResolvableType.forClassWithGenerics(List.class, EventResponse.class);
+
+  private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+      .modulesToInstall(new DomainJsonModule())
+      .build();
+
+  private final PooledJsonEncoder encoder = new PooledJsonEncoder(objectMapper);
+
+  @Test
+  void encodes_into_pooled_direct_buffer() {
+    var events = List.of(
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME),
+        new EventResponse(EventDefaults.OTHER_ID, EventDefaults.OTHER_TITLE, EventDefaults.OTHER_START_TIME,
+            EventDefaults.OTHER_END_TIME));
+    var bufferFactory = new NettyDataBufferFactory(new PooledByteBufAllocator(true));
+
+    var buffer = encoder.encodeValue(events, bufferFactory, EVENT_LIST, MediaType.APPLICATION_JSON, null);
+    var expected = new Jackson2JsonEncoder(objectMapper)
+        .encodeValue(events, DefaultDataBufferFactory.sharedInstance, EVENT_LIST, MediaType.APPLICATION_JSON, null);
+
+    assertThat(((NettyDataBuffer) buffer).getNativeBuffer().isDirect()).isTrue();
+    assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo(expected.toString(StandardCharsets.UTF_8));
+    DataBufferUtils.release(buffer);
+  }
+
+  @Test
+  void releases_buffer_when_encoding_fails() {
+    var allocator = new UnpooledByteBufAllocator(true);
+    var bufferFactory = new NettyDataBufferFactory(allocator);
+
+    assertThatExceptionOfType(EncodingException.class).isThrownBy(() -> encoder.encodeValue(
+        new Failing(), bufferFactory, ResolvableType.forClass(Failing.class), MediaType.APPLICATION_JSON, null));
+    assertThat(allocator.metric().usedDirectMemory()).isZero();
+  }
+
+  private static class Failing {
+
+    public String getValue() {
+      throw new IllegalStateException("Cannot serialize");
+    }
+  }
+}
@@ -2,33 +2,57 @@ package se.kry.springboot.demo.handson.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.Month;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.IntStream;
 import org.assertj.core.data.Index;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.JdkIdGenerator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
 import reactor.test.StepVerifier;
+import reactor.test.publisher.PublisherProbe;
 import se.kry.springboot.demo.handson.data.Event;
 import se.kry.springboot.demo.handson.data.EventRepository;
+import se.kry.springboot.demo.handson.data.Participant;
 import se.kry.springboot.demo.handson.data.ParticipantRepository;
-import se.kry.springboot.demo.handson.data.Person;
 import se.kry.springboot.demo.handson.data.PersonRepository;
 import se.kry.springboot.demo.handson.domain.EventCreationRequest;
+import se.kry.springboot.demo.handson.domain.EventCursor;
 import se.kry.springboot.demo.handson.domain.EventDefaults;
 import se.kry.springboot.demo.handson.domain.EventParticipantsUpdateRequest;
+import se.kry.springboot.demo.handson.domain.EventResponse;
 import se.kry.springboot.demo.handson.domain.EventUpdateRequest;
 import se.kry.springboot.demo.handson.domain.PersonDefaults;
+import se.kry.springboot.demo.handson.domain.PersonResponse;
+import se.kry.springboot.demo.handson.domain.ResourceVersion;
+import se.kry.springboot.demo.handson.domain.StartIsAfterEndException;
+import se.kry.springboot.demo.handson.domain.VersionMismatchException;
+import se.kry.springboot.demo.handson.infra.cache.InfraCacheConfiguration.CacheNames;
 
 class EventServiceTest {
 
@@ -38,6 +62,8 @@ class EventServiceTest {
 
   private ParticipantRepository participantRepository;
 
+  private CacheManager cacheManager;
+
   private PersonRepository personRepository;
 
   @BeforeEach
@@ -45,7 +71,9 @@ class EventServiceTest {
     eventRepository = mock(EventRepository.class);
     participantRepository = mock(ParticipantRepository.class);
     personRepository = mock(PersonRepository.class);
-    service = new EventService(eventRepository, participantRepository, personRepository);
+    cacheManager = new ConcurrentMapCacheManager(CacheNames.EVENTS);
+    service = new EventService(eventRepository, participantRepository, personRepository, new JdkIdGenerator(),
+        cacheManager, Duration.ZERO, false, false);
   }
 
   @Test
@@ -55,6 +83,27 @@ class EventServiceTest {
         .verifyError(NullPointerException.class);
   }
 
+  @Test
+  void create_event_generates_id_on_subscription() {
+    var generated = new AtomicInteger();
+    var countingService = new EventService(eventRepository, participantRepository, personRepository,
+        () -> {
+          generated.incrementAndGet();
+          return EventDefaults.ID;
+        }, cacheManager, Duration.ZERO, false, false);
+    when(eventRepository.save(any())).thenAnswer(invocation -> Mono.just(invocation.getArgument(0, Event.class)));
+
+    var created = countingService.createEvent(
+        new EventCreationRequest(EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME));
+
+    assertThat(generated).hasValue(0);
+
+    created.as(StepVerifier::create)
+        .assertNext(eventResponse -> assertThat(eventResponse.id()).isEqualTo(EventDefaults.ID))
+        .verifyComplete();
+    assertThat(generated).hasValue(1);
+  }
+
   @Test
   void create_event() {
     var creationRequest = new EventCreationRequest(EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME);
@@ -69,7 +118,7 @@ class EventServiceTest {
       return Mono.just(
           new Event(
               inputEvent.id(), inputEvent.title(), inputEvent.startTime(), inputEvent.endTime(),
-              EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE));
+              EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE, EventDefaults.VERSION));
     });
 
     service.createEvent(creationRequest)
@@ -104,7 +153,7 @@ class EventServiceTest {
         .thenReturn(Mono.just(
             new Event(EventDefaults.ID, EventDefaults.TITLE,
                 EventDefaults.START_TIME, EventDefaults.END_TIME,
-                EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE)));
+                EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE, EventDefaults.VERSION)));
 
     service.getEvent(EventDefaults.ID)
         .as(StepVerifier::create)
@@ -117,6 +166,156 @@ class EventServiceTest {
         .verifyComplete();
   }
 
+  @Test
+  void get_event_reads_through_cache() {
+    when(eventRepository.findById(EventDefaults.ID))
+        .thenReturn(Mono.just(Event.from(EventDefaults.ID, EventDefaults.TITLE,
+            EventDefaults.START_TIME, EventDefaults.END_TIME)));
+
+    service.getEvent(EventDefaults.ID)
+        .then(service.getEvent(EventDefaults.ID))
+        .as(StepVerifier::create)
+        .assertNext(eventResponse -> assertThat(eventResponse.id()).isEqualTo(EventDefaults.ID))
+        .verifyComplete();
+
+    verify(eventRepository, times(1)).findById(EventDefaults.ID);
+  }
+
+  @Test
+  void get_event_coalesces_concurrent_loads() {
+    var event = Sinks.<Event>one();
+    when(eventRepository.findById(EventDefaults.ID)).thenReturn(event.asMono());
+
+    var first = service.getEvent(EventDefaults.ID).toFuture();
+    var second = service.getEvent(EventDefaults.ID).toFuture();
+    event.tryEmitValue(
+        Event.from(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME));
+
+    assertThat(first).isCompletedWithValueMatching(eventResponse -> eventResponse.id().equals(EventDefaults.ID));
+    assertThat(second).isCompletedWithValueMatching(eventResponse -> eventResponse.id().equals(EventDefaults.ID));
+    verify(eventRepository, times(1)).findById(EventDefaults.ID);
+  }
+
+  @Test
+  void get_event_does_not_cache_load_started_before_delete() {
+    var staleEvent = Sinks.<Event>one();
+    when(eventRepository.findById(EventDefaults.ID)).thenReturn(staleEvent.asMono(), Mono.empty());
+    when(eventRepository.deleteById(EventDefaults.ID)).thenReturn(Mono.empty());
+
+    var beforeDelete = service.getEvent(EventDefaults.ID).toFuture();
+    service.deleteEvent(EventDefaults.ID).block();
+    var afterDelete = service.getEvent(EventDefaults.ID).toFuture();
+    staleEvent.tryEmitValue(
+        Event.from(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME));
+
+    assertThat(beforeDelete).isCompletedWithValueMatching(eventResponse -> eventResponse.id().equals(EventDefaults.ID));
+    assertThat(afterDelete).isCompletedWithValue(null);
+    assertThat(cacheManager.getCache(CacheNames.EVENTS).get(EventDefaults.ID)).isNull();
+    verify(eventRepository, times(2)).findById(EventDefaults.ID);
+  }
+
+  @Test
+  void get_event_participants_coalesces_concurrent_reads() {
+    var participants = Sinks.many().replay().<PersonResponse>all();
+    when(personRepository.findParticipantsByEventId(EventDefaults.ID)).thenReturn(participants.asFlux());
+
+    var first = service.getEventParticipants(EventDefaults.ID).collectList().toFuture();
+    var second = service.getEventParticipants(EventDefaults.ID).collectList().toFuture();
+    participants.tryEmitNext(new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME));
+    participants.tryEmitComplete();
+
+    assertThat(first).isCompletedWithValue(List.of(new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME)));
+    assertThat(second).isCompletedWithValue(List.of(new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME)));
+    verify(personRepository, times(1)).findParticipantsByEventId(EventDefaults.ID);
+  }
+
+  @Test
+  void get_event_participants_does_not_join_load_started_before_update() {
+    var before = Sinks.many().replay().<PersonResponse>all();
+    var after = new PersonResponse(PersonDefaults.OTHER_ID, PersonDefaults.OTHER_NAME);
+    when(personRepository.findParticipantsByEventId(EventDefaults.ID))
+        .thenReturn(before.asFlux())
+        .thenReturn(Flux.just(after));
+    when(participantRepository.findByEventId(EventDefaults.ID)).thenReturn(Flux.empty());
+    when(participantRepository.insertAll(anyCollection())).thenAnswer(invocation ->
+        Flux.fromIterable(invocation.getArgument(0, Collection.class)));
+
+    var slow = service.getEventParticipants(EventDefaults.ID).collectList().toFuture();
+    var request = new EventParticipantsUpdateRequest(List.of(PersonDefaults.OTHER_ID));
+    service.updateEventParticipants(EventDefaults.ID, request)
+        .as(StepVerifier::create)
+        .expectNext(after)
+        .verifyComplete();
+
+    service.getEventParticipants(EventDefaults.ID)
+        .as(StepVerifier::create)
+        .expectNext(after)
+        .verifyComplete();
+
+    before.tryEmitNext(new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME));
+    before.tryEmitComplete();
+    assertThat(slow).isCompletedWithValue(List.of(new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME)));
+  }
+
+  @Test
+  void get_events_by_id() {
+    var ids = List.of(EventDefaults.OTHER_ID, EventDefaults.ID);
+    when(eventRepository.findAllInOrder(ids)).thenReturn(Flux.just(
+        Event.from(EventDefaults.OTHER_ID, EventDefaults.OTHER_TITLE, EventDefaults.OTHER_START_TIME,
+            EventDefaults.OTHER_END_TIME),
+        Event.from(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME)));
+
+    service.getEventsById(ids)
+        .map(EventResponse::id)
+        .as(StepVerifier::create)
+        .expectNext(EventDefaults.OTHER_ID, EventDefaults.ID)
+        .verifyComplete();
+  }
+
+  @Test
+  void get_events_by_id_with_null_ids_fails() {
+    service.getEventsById(null)
+        .as(StepVerifier::create)
+        .verifyError(NullPointerException.class);
+  }
+
+  @Test
+  void get_event_version_with_null_id_fails() {
+    service.getEventVersion(null)
+        .as(StepVerifier::create)
+        .verifyError(NullPointerException.class);
+  }
+
+  @Test
+  void get_event_version_from_repository() {
+    var version = new ResourceVersion(EventDefaults.ID, EventDefaults.VERSION, EventDefaults.LAST_MODIFIED_DATE);
+    when(eventRepository.findVersionById(EventDefaults.ID)).thenReturn(Mono.just(version));
+
+    service.getEventVersion(EventDefaults.ID)
+        .as(StepVerifier::create)
+        .expectNext(version)
+        .verifyComplete();
+  }
+
+  @Test
+  void get_event_version_from_cache() {
+    var versionLookup = PublisherProbe.<ResourceVersion>empty();
+    when(eventRepository.findVersionById(EventDefaults.ID)).thenReturn(versionLookup.mono());
+    when(eventRepository.findById(EventDefaults.ID))
+        .thenReturn(Mono.just(
+            new Event(EventDefaults.ID, EventDefaults.TITLE,
+                EventDefaults.START_TIME, EventDefaults.END_TIME,
+                EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE, EventDefaults.VERSION)));
+
+    service.getEvent(EventDefaults.ID)
+        .then(service.getEventVersion(EventDefaults.ID))
+        .as(StepVerifier::create)
+        .expectNext(new ResourceVersion(EventDefaults.ID, EventDefaults.VERSION, EventDefaults.LAST_MODIFIED_DATE))
+        .verifyComplete();
+
+    versionLookup.assertWasNotSubscribed();
+  }
+
   @Test
   void get_events_with_null_pageable_fails() {
     service.getEvents(null)
@@ -133,7 +332,7 @@ class EventServiceTest {
     when(eventRepository.findBy(pageable)).thenAnswer(invocation -> {
       var invokedPageable = invocation.getArgument(0, Pageable.class);
       return Flux.fromStream(IntStream.range(0, invokedPageable.getPageSize()).mapToObj(i ->
-          Event.from("Event " + i, EventDefaults.START_TIME.plusDays(i),
+          Event.from(UUID.randomUUID(), "Event " + i, EventDefaults.START_TIME.plusDays(i),
               EventDefaults.START_TIME.plusDays(i).plusHours(i + 1))));
     });
 
@@ -160,6 +359,164 @@ class EventServiceTest {
         .verifyComplete();
   }
 
+  @Test
+  void create_events_with_null_requests_fails() {
+    service.createEvents(null)
+        .as(StepVerifier::create)
+        .verifyError(NullPointerException.class);
+  }
+
+  @Test
+  void create_events() {
+    when(eventRepository.insertAll(anyCollection())).thenAnswer(invocation ->
+        Flux.fromIterable(invocation.getArgument(0, Collection.class)));
+
+    service.createEvents(List.of(
+            new EventCreationRequest(EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME),
+            new EventCreationRequest(EventDefaults.OTHER_TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME)))
+        .as(StepVerifier::create)
+        .assertNext(event -> assertThat(event.title()).isEqualTo(EventDefaults.TITLE))
+        .assertNext(event -> assertThat(event.title()).isEqualTo(EventDefaults.OTHER_TITLE))
+        .verifyComplete();
+  }
+
+  @Test
+  void get_events_caches_count() {
+    var cachingService = new EventService(eventRepository, participantRepository, personRepository,
+        new JdkIdGenerator(), cacheManager, Duration.ofMinutes(1), false, false);
+    var pageable = Pageable.ofSize(5);
+
+    when(eventRepository.count()).thenReturn(Mono.just(99L));
+    when(eventRepository.findBy(pageable)).thenReturn(Flux.empty());
+
+    cachingService.getEvents(pageable)
+        .then(cachingService.getEvents(pageable))
+        .as(StepVerifier::create)
+        .assertNext(page -> assertThat(page.getTotalElements()).isEqualTo(99L))
+        .verifyComplete();
+
+    verify(eventRepository, times(1)).count();
+  }
+
+  @Test
+  void get_events_overlapping_with_start_after_end_fails() {
+    service.getEventsOverlapping(EventDefaults.END_TIME, EventDefaults.START_TIME, Pageable.ofSize(20))
+        .as(StepVerifier::create)
+        .verifyError(StartIsAfterEndException.class);
+  }
+
+  @Test
+  void get_events_overlapping() {
+    var pageable = Pageable.ofSize(20);
+
+    when(eventRepository.countByStartTimeBeforeAndEndTimeAfter(EventDefaults.END_TIME, EventDefaults.START_TIME))
+        .thenReturn(Mono.just(1L));
+    when(eventRepository.findByStartTimeBeforeAndEndTimeAfter(EventDefaults.END_TIME, EventDefaults.START_TIME, pageable))
+        .thenReturn(Flux.just(Event.from(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME,
+            EventDefaults.END_TIME)));
+
+    service.getEventsOverlapping(EventDefaults.START_TIME, EventDefaults.END_TIME, pageable)
+        .as(StepVerifier::create)
+        .assertNext(page -> {
+          assertThat(page.getTotalElements()).isEqualTo(1L);
+          assertThat(page.getContent()).extracting(EventResponse::title).containsExactly(EventDefaults.TITLE);
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void stream_events_overlapping() {
+    when(eventRepository.findByStartTimeBeforeAndEndTimeAfter(EventDefaults.END_TIME, EventDefaults.START_TIME,
+        Sort.by("startTime", "id")))
+        .thenReturn(Flux.just(Event.from(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME,
+            EventDefaults.END_TIME)));
+
+    service.streamEventsOverlapping(EventDefaults.START_TIME, EventDefaults.END_TIME)
+        .as(StepVerifier::create)
+        .assertNext(event -> assertThat(event.title()).isEqualTo(EventDefaults.TITLE))
+        .verifyComplete();
+  }
+
+  @Test
+  void get_events_slice_with_null_pageable_fails() {
+    service.getEventsSlice(null)
+        .as(StepVerifier::create)
+        .verifyError(NullPointerException.class);
+  }
+
+  @Test
+  void get_events_slice() {
+    var pageable = PageRequest.of(1, 2);
+
+    when(eventRepository.findSliceBy(pageable)).thenReturn(Flux.fromStream(IntStream.range(0, 3).mapToObj(i ->
+        Event.from(UUID.randomUUID(), "Event " + i,
+            EventDefaults.START_TIME.plusDays(i), EventDefaults.END_TIME.plusDays(i)))));
+
+    service.getEventsSlice(pageable)
+        .as(StepVerifier::create)
+        .assertNext(slice -> {
+          assertThat(slice.getNumber()).isEqualTo(1);
+          assertThat(slice.hasNext()).isTrue();
+          assertThat(slice.getContent()).extracting(EventResponse::title).containsExactly("Event 0", "Event 1");
+        })
+        .verifyComplete();
+
+    verify(eventRepository, times(0)).count();
+  }
+
+  @Test
+  void stream_events() {
+    when(eventRepository.findAll(Sort.by("startTime", "id"))).thenReturn(Flux.just(
+        Event.from(UUID.randomUUID(), EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME)));
+
+    service.streamEvents()
+        .as(StepVerifier::create)
+        .assertNext(event -> assertThat(event.title()).isEqualTo(EventDefaults.TITLE))
+        .verifyComplete();
+  }
+
+  @Test
+  void get_events_by_cursor_with_null_cursor_fails() {
+    service.getEvents(null, 20)
+        .as(StepVerifier::create)
+        .verifyError(NullPointerException.class);
+  }
+
+  @Test
+  void get_events_by_cursor_first_page() {
+    var events = IntStream.range(0, 3).mapToObj(i ->
+        Event.from(UUID.randomUUID(), "Event " + i,
+            EventDefaults.START_TIME.plusDays(i), EventDefaults.END_TIME.plusDays(i))).toList();
+
+    when(eventRepository.findKeysetFirst(3)).thenReturn(Flux.fromIterable(events));
+
+    service.getEvents(Optional.empty(), 2)
+        .as(StepVerifier::create)
+        .assertNext(page -> {
+          assertThat(page.content()).extracting(EventResponse::title).containsExactly("Event 0", "Event 1");
+          assertThat(EventCursor.parse(page.next()))
+              .isEqualTo(new EventCursor(events.get(1).startTime(), events.get(1).id()));
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void get_events_by_cursor_last_page() {
+    var cursor = new EventCursor(EventDefaults.START_TIME, EventDefaults.ID);
+
+    when(eventRepository.findKeysetAfter(EventDefaults.START_TIME, EventDefaults.ID, 3)).thenReturn(Flux.just(
+        Event.from(EventDefaults.OTHER_ID, EventDefaults.OTHER_TITLE,
+            EventDefaults.OTHER_START_TIME, EventDefaults.OTHER_END_TIME)));
+
+    service.getEvents(Optional.of(cursor), 2)
+        .as(StepVerifier::create)
+        .assertNext(page -> {
+          assertThat(page.content()).extracting(EventResponse::id).containsExactly(EventDefaults.OTHER_ID);
+          assertThat(page.next()).isNull();
+        })
+        .verifyComplete();
+  }
+
   @Test
   void update_event_with_null_id_fails() {
     var request = new EventUpdateRequest(
@@ -204,7 +561,7 @@ class EventServiceTest {
         new Event(
             EventDefaults.ID, EventDefaults.TITLE,
             EventDefaults.START_TIME, EventDefaults.END_TIME,
-            EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE)));
+            EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE, EventDefaults.VERSION)));
 
     when(eventRepository.save(any())).thenAnswer(invocation ->
         Mono.just(invocation.getArgument(0, Event.class)));
@@ -224,17 +581,15 @@ class EventServiceTest {
   void update_event_participants() {
     var request = new EventParticipantsUpdateRequest(List.of(PersonDefaults.ID, PersonDefaults.OTHER_ID));
 
-    when(participantRepository.deleteAllByEventId(EventDefaults.ID)).thenReturn(Mono.empty());
+    when(participantRepository.findByEventId(EventDefaults.ID)).thenReturn(Flux.empty());
 
-    when(participantRepository.saveAll(any(Flux.class))).thenAnswer(invocation ->
-        invocation.getArgument(0, Flux.class));
+    when(participantRepository.insertAll(anyCollection())).thenAnswer(invocation ->
+        Flux.fromIterable(invocation.getArgument(0, Collection.class)));
 
     when(personRepository.findParticipantsByEventId(EventDefaults.ID)).thenReturn(
         Flux.just(
-            new Person(PersonDefaults.ID, PersonDefaults.NAME,
-                PersonDefaults.CREATED_DATE, PersonDefaults.LAST_MODIFIED_DATE),
-            new Person(PersonDefaults.OTHER_ID, PersonDefaults.OTHER_NAME,
-                PersonDefaults.CREATED_DATE, PersonDefaults.LAST_MODIFIED_DATE)));
+            new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME),
+            new PersonResponse(PersonDefaults.OTHER_ID, PersonDefaults.OTHER_NAME)));
 
     service.updateEventParticipants(EventDefaults.ID, request)
         .as(StepVerifier::create)
@@ -249,6 +604,186 @@ class EventServiceTest {
         .verifyComplete();
   }
 
+  @Test
+  void update_event_participants_writes_only_the_difference() {
+    var removedId = UUID.randomUUID();
+    var request = new EventParticipantsUpdateRequest(List.of(PersonDefaults.ID, PersonDefaults.OTHER_ID));
+
+    when(participantRepository.findByEventId(EventDefaults.ID)).thenReturn(Flux.just(
+        Participant.from(UUID.randomUUID(), EventDefaults.ID, PersonDefaults.ID),
+        Participant.from(UUID.randomUUID(), EventDefaults.ID, removedId)));
+
+    when(participantRepository.deleteAllByEventIdAndPersonIdIn(EventDefaults.ID, Set.of(removedId)))
+        .thenReturn(Mono.empty());
+
+    when(participantRepository.insertAll(anyCollection())).thenAnswer(invocation ->
+        Flux.fromIterable(invocation.getArgument(0, Collection.class)));
+
+    when(personRepository.findParticipantsByEventId(EventDefaults.ID)).thenReturn(
+        Flux.just(
+            new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME),
+            new PersonResponse(PersonDefaults.OTHER_ID, PersonDefaults.OTHER_NAME)));
+
+    service.updateEventParticipants(EventDefaults.ID, request)
+        .as(StepVerifier::create)
+        .expectNextCount(2)
+        .verifyComplete();
+
+    verify(participantRepository).deleteAllByEventIdAndPersonIdIn(EventDefaults.ID, Set.of(removedId));
+    verify(participantRepository).insertAll(argThat((List<Participant> participants) ->
+        participants.size() == 1 && participants.get(0).personId().equals(PersonDefaults.OTHER_ID)));
+    verify(participantRepository, never()).deleteAllByEventId(any());
+  }
+
+  @Test
+  void update_event_participants_refreshes_participant_count_column() {
+    var countingService = new EventService(eventRepository, participantRepository, personRepository,
+        new JdkIdGenerator(), cacheManager, Duration.ZERO, true, false);
+    var request = new EventParticipantsUpdateRequest(List.of(PersonDefaults.ID));
+
+    when(participantRepository.findByEventId(EventDefaults.ID)).thenReturn(Flux.empty());
+    when(participantRepository.insertAll(anyCollection())).thenAnswer(invocation ->
+        Flux.fromIterable(invocation.getArgument(0, Collection.class)));
+    when(eventRepository.refreshParticipantCount(EventDefaults.ID)).thenReturn(Mono.just(1));
+    when(personRepository.findParticipantsByEventId(EventDefaults.ID)).thenReturn(
+        Flux.just(new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME)));
+
+    countingService.updateEventParticipants(EventDefaults.ID, request)
+        .as(StepVerifier::create)
+        .expectNextCount(1)
+        .verifyComplete();
+
+    verify(eventRepository).refreshParticipantCount(EventDefaults.ID);
+  }
+
+  @Test
+  void get_event_participant_count() {
+    when(eventRepository.countParticipantsById(EventDefaults.ID)).thenReturn(Mono.just(3L));
+
+    service.getEventParticipantCount(EventDefaults.ID)
+        .as(StepVerifier::create)
+        .expectNext(3L)
+        .verifyComplete();
+
+    verify(eventRepository, never()).findParticipantCountById(any());
+  }
+
+  @Test
+  void get_event_participant_count_from_column() {
+    var countingService = new EventService(eventRepository, participantRepository, personRepository,
+        new JdkIdGenerator(), cacheManager, Duration.ZERO, true, false);
+
+    when(eventRepository.findParticipantCountById(EventDefaults.ID)).thenReturn(Mono.just(3L));
+
+    countingService.getEventParticipantCount(EventDefaults.ID)
+        .as(StepVerifier::create)
+        .expectNext(3L)
+        .verifyComplete();
+
+    verify(eventRepository, never()).countParticipantsById(any());
+  }
+
+  @Test
+  void get_unknown_event_participant_count() {
+    when(eventRepository.countParticipantsById(EventDefaults.ID)).thenReturn(Mono.empty());
+
+    service.getEventParticipantCount(EventDefaults.ID)
+        .as(StepVerifier::create)
+        .verifyComplete();
+  }
+
+  @Test
+  void backfill_participant_counts_only_when_enabled() {
+    var countingService = new EventService(eventRepository, participantRepository, personRepository,
+        new JdkIdGenerator(), cacheManager, Duration.ZERO, true, false);
+    var backfillingService = new EventService(eventRepository, participantRepository, personRepository,
+        new JdkIdGenerator(), cacheManager, Duration.ZERO, true, true);
+
+    when(eventRepository.refreshParticipantCounts()).thenReturn(Mono.just(2));
+
+    service.backfillParticipantCounts();
+    countingService.backfillParticipantCounts();
+    verify(eventRepository, never()).refreshParticipantCounts();
+
+    backfillingService.backfillParticipantCounts();
+    verify(eventRepository).refreshParticipantCounts();
+  }
+
+  @Test
+  void is_event_participant() {
+    when(participantRepository.countByEventIdAndPersonId(EventDefaults.ID, PersonDefaults.ID))
+        .thenReturn(Mono.just(1L));
+    when(participantRepository.countByEventIdAndPersonId(EventDefaults.ID, PersonDefaults.OTHER_ID))
+        .thenReturn(Mono.just(0L));
+
+    service.isEventParticipant(EventDefaults.ID, PersonDefaults.ID)
+        .concatWith(service.isEventParticipant(EventDefaults.ID, PersonDefaults.OTHER_ID))
+        .as(StepVerifier::create)
+        .expectNext(true, false)
+        .verifyComplete();
+  }
+
+  @Test
+  void is_event_participant_with_null_person_id_fails() {
+    service.isEventParticipant(EventDefaults.ID, null)
+        .as(StepVerifier::create)
+        .verifyError(NullPointerException.class);
+  }
+
+  @Test
+  void update_event_with_failed_precondition() {
+    when(eventRepository.findById(EventDefaults.ID)).thenReturn(Mono.just(
+        new Event(
+            EventDefaults.ID, EventDefaults.TITLE,
+            EventDefaults.START_TIME, EventDefaults.END_TIME,
+            EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE, EventDefaults.VERSION)));
+
+    service.updateEvent(EventDefaults.ID, new EventUpdateRequest(
+        Optional.of(EventDefaults.OTHER_TITLE), Optional.empty(), Optional.empty()), version -> false)
+        .as(StepVerifier::create)
+        .verifyError(VersionMismatchException.class);
+
+    verify(eventRepository, never()).save(any());
+  }
+
+  @Test
+  void update_event_retries_optimistic_locking_failure() {
+    var read = PublisherProbe.of(Mono.just(
+        new Event(
+            EventDefaults.ID, EventDefaults.TITLE,
+            EventDefaults.START_TIME, EventDefaults.END_TIME,
+            EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE, EventDefaults.VERSION)));
+    when(eventRepository.findById(EventDefaults.ID)).thenReturn(read.mono());
+    when(eventRepository.save(any()))
+        .thenReturn(Mono.error(new OptimisticLockingFailureException("Conflict")))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0, Event.class)));
+
+    service.updateEvent(EventDefaults.ID, new EventUpdateRequest(
+        Optional.of(EventDefaults.OTHER_TITLE), Optional.empty(), Optional.empty()))
+        .as(StepVerifier::create)
+        .assertNext(eventResponse -> assertThat(eventResponse.title()).isEqualTo(EventDefaults.OTHER_TITLE))
+        .verifyComplete();
+
+    assertThat(read.subscribeCount()).isEqualTo(2);
+  }
+
+  @Test
+  void update_event_gives_up_on_repeated_conflicts() {
+    when(eventRepository.findById(EventDefaults.ID)).thenReturn(Mono.just(
+        new Event(
+            EventDefaults.ID, EventDefaults.TITLE,
+            EventDefaults.START_TIME, EventDefaults.END_TIME,
+            EventDefaults.CREATED_DATE, EventDefaults.LAST_MODIFIED_DATE, EventDefaults.VERSION)));
+    when(eventRepository.save(any())).thenReturn(Mono.error(new OptimisticLockingFailureException("Conflict")));
+
+    service.updateEvent(EventDefaults.ID, new EventUpdateRequest(
+        Optional.of(EventDefaults.OTHER_TITLE), Optional.empty(), Optional.empty()))
+        .as(StepVerifier::create)
+        .verifyError(OptimisticLockingFailureException.class);
+
+    verify(eventRepository, times(4)).save(any());
+  }
+
   @Test
   void delete_event_with_null_id_fails() {
     service.deleteEvent(null)
@@ -265,4 +800,18 @@ class EventServiceTest {
         .verifyComplete();
   }
 
-}
\ No newline at end of file
+  @Test
+  void delete_event_evicts_cache() {
+    cacheManager.getCache(CacheNames.EVENTS).put(EventDefaults.ID, Event.from(EventDefaults.ID, EventDefaults.TITLE,
+        EventDefaults.START_TIME, EventDefaults.END_TIME));
+
+    when(eventRepository.deleteById(EventDefaults.ID)).thenReturn(Mono.empty());
+
+    service.deleteEvent(EventDefaults.ID)
+        .as(StepVerifier::create)
+        .verifyComplete();
+
+    assertThat(cacheManager.getCache(CacheNames.EVENTS).get(EventDefaults.ID)).isNull();
+  }
+
+}
@@ -2,29 +2,174 @@ package se.kry.springboot.demo.handson.services;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.JdkIdGenerator;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+import reactor.test.publisher.PublisherProbe;
+import se.kry.springboot.demo.handson.data.Event;
+import se.kry.springboot.demo.handson.data.EventRepository;
+import se.kry.springboot.demo.handson.data.ParticipantRepository;
 import se.kry.springboot.demo.handson.data.Person;
 import se.kry.springboot.demo.handson.data.PersonRepository;
+import se.kry.springboot.demo.handson.domain.EventDefaults;
+import se.kry.springboot.demo.handson.domain.PersonCreationRequest;
+import se.kry.springboot.demo.handson.domain.PersonCursor;
 import se.kry.springboot.demo.handson.domain.PersonDefaults;
+import se.kry.springboot.demo.handson.domain.PersonResponse;
 import se.kry.springboot.demo.handson.domain.PersonUpdateRequest;
+import se.kry.springboot.demo.handson.domain.ResourceVersion;
+import se.kry.springboot.demo.handson.domain.VersionMismatchException;
+import se.kry.springboot.demo.handson.domain.Versioned;
+import se.kry.springboot.demo.handson.infra.cache.InfraCacheConfiguration.CacheNames;
 
 class PersonServiceTest {
 
   private PersonRepository repository;
 
+  private EventRepository eventRepository;
+
+  private ParticipantRepository participantRepository;
+
+  private CacheManager cacheManager;
+
   private PersonService service;
 
   @BeforeEach
   void setUp() {
     repository = mock(PersonRepository.class);
-    service = new PersonService(repository);
+    eventRepository = mock(EventRepository.class);
+    participantRepository = mock(ParticipantRepository.class);
+    cacheManager = new ConcurrentMapCacheManager(CacheNames.PEOPLE);
+    service = new PersonService(repository, eventRepository, participantRepository, new JdkIdGenerator(),
+        cacheManager, Duration.ZERO);
+  }
+
+  @Test
+  void create_people_with_null_requests_fails() {
+    service.createPeople(null)
+        .as(StepVerifier::create)
+        .verifyError(NullPointerException.class);
+  }
+
+  @Test
+  void create_people() {
+    when(repository.insertAll(anyCollection())).thenAnswer(invocation ->
+        Flux.fromIterable(invocation.getArgument(0, Collection.class)));
+
+    service.createPeople(List.of(
+            new PersonCreationRequest(PersonDefaults.NAME),
+            new PersonCreationRequest(PersonDefaults.OTHER_NAME)))
+        .as(StepVerifier::create)
+        .assertNext(person -> assertThat(person.name()).isEqualTo(PersonDefaults.NAME))
+        .assertNext(person -> assertThat(person.name()).isEqualTo(PersonDefaults.OTHER_NAME))
+        .verifyComplete();
+  }
+
+  @Test
+  void get_people_slice() {
+    var pageable = PageRequest.of(0, 2);
+
+    when(repository.findSliceBy(pageable)).thenReturn(Flux.just(
+        Person.from(PersonDefaults.ID, PersonDefaults.NAME),
+        Person.from(PersonDefaults.OTHER_ID, PersonDefaults.OTHER_NAME)));
+
+    service.getPeopleSlice(pageable)
+        .as(StepVerifier::create)
+        .assertNext(slice -> {
+          assertThat(slice.hasNext()).isFalse();
+          assertThat(slice.getContent()).extracting(PersonResponse::id)
+              .containsExactly(PersonDefaults.ID, PersonDefaults.OTHER_ID);
+        })
+        .verifyComplete();
+
+    verify(repository, times(0)).count();
+  }
+
+  @Test
+  void stream_people() {
+    when(repository.findAll(Sort.by("name", "id"))).thenReturn(Flux.just(
+        Person.from(PersonDefaults.ID, PersonDefaults.NAME)));
+
+    service.streamPeople()
+        .as(StepVerifier::create)
+        .assertNext(person -> assertThat(person.id()).isEqualTo(PersonDefaults.ID))
+        .verifyComplete();
+  }
+
+  @Test
+  void get_people_by_id() {
+    var ids = List.of(PersonDefaults.OTHER_ID, PersonDefaults.ID);
+    when(repository.findAllInOrder(ids)).thenReturn(Flux.just(
+        Person.from(PersonDefaults.OTHER_ID, PersonDefaults.OTHER_NAME),
+        Person.from(PersonDefaults.ID, PersonDefaults.NAME)));
+
+    service.getPeopleById(ids)
+        .map(PersonResponse::id)
+        .as(StepVerifier::create)
+        .expectNext(PersonDefaults.OTHER_ID, PersonDefaults.ID)
+        .verifyComplete();
+  }
+
+  @Test
+  void get_people_by_id_with_null_ids_fails() {
+    service.getPeopleById(null)
+        .as(StepVerifier::create)
+        .verifyError(NullPointerException.class);
+  }
+
+  @Test
+  void get_people_by_cursor_with_null_cursor_fails() {
+    service.getPeople(null, 20)
+        .as(StepVerifier::create)
+        .verifyError(NullPointerException.class);
+  }
+
+  @Test
+  void get_people_by_cursor_first_page() {
+    when(repository.findKeysetFirst(2)).thenReturn(Flux.just(
+        Person.from(PersonDefaults.ID, PersonDefaults.NAME),
+        Person.from(PersonDefaults.OTHER_ID, PersonDefaults.OTHER_NAME)));
+
+    service.getPeople(Optional.empty(), 1)
+        .as(StepVerifier::create)
+        .assertNext(page -> {
+          assertThat(page.content()).extracting(PersonResponse::id).containsExactly(PersonDefaults.ID);
+          assertThat(PersonCursor.parse(page.next())).isEqualTo(new PersonCursor(PersonDefaults.NAME, PersonDefaults.ID));
+        })
+        .verifyComplete();
+  }
+
+  @Test
+  void get_people_by_cursor_last_page() {
+    when(repository.findKeysetAfter(PersonDefaults.NAME, PersonDefaults.ID, 2)).thenReturn(Flux.just(
+        Person.from(PersonDefaults.OTHER_ID, PersonDefaults.OTHER_NAME)));
+
+    service.getPeople(Optional.of(new PersonCursor(PersonDefaults.NAME, PersonDefaults.ID)), 1)
+        .as(StepVerifier::create)
+        .assertNext(page -> {
+          assertThat(page.content()).extracting(PersonResponse::id).containsExactly(PersonDefaults.OTHER_ID);
+          assertThat(page.next()).isNull();
+        })
+        .verifyComplete();
   }
 
   @Test
@@ -49,7 +194,7 @@ class PersonServiceTest {
 
     when(repository.findById(PersonDefaults.ID)).thenReturn(
         Mono.just(new Person(PersonDefaults.ID, PersonDefaults.NAME, PersonDefaults.CREATED_DATE,
-            PersonDefaults.LAST_MODIFIED_DATE)));
+            PersonDefaults.LAST_MODIFIED_DATE, PersonDefaults.VERSION)));
 
     when(repository.save(any())).thenAnswer(invocation ->
         Mono.just(invocation.getArgument(0, Person.class)));
@@ -63,6 +208,51 @@ class PersonServiceTest {
         .verifyComplete();
   }
 
+  @Test
+  void update_person_with_failed_precondition() {
+    when(repository.findById(PersonDefaults.ID)).thenReturn(Mono.just(
+        new Person(PersonDefaults.ID, PersonDefaults.NAME,
+            PersonDefaults.CREATED_DATE, PersonDefaults.LAST_MODIFIED_DATE, PersonDefaults.VERSION)));
+
+    service.updatePerson(PersonDefaults.ID, new PersonUpdateRequest(Optional.of(PersonDefaults.OTHER_NAME)), version -> false)
+        .as(StepVerifier::create)
+        .verifyError(VersionMismatchException.class);
+
+    verify(repository, never()).save(any());
+  }
+
+  @Test
+  void update_person_retries_optimistic_locking_failure() {
+    var read = PublisherProbe.of(Mono.just(
+        new Person(PersonDefaults.ID, PersonDefaults.NAME,
+            PersonDefaults.CREATED_DATE, PersonDefaults.LAST_MODIFIED_DATE, PersonDefaults.VERSION)));
+    when(repository.findById(PersonDefaults.ID)).thenReturn(read.mono());
+    when(repository.save(any()))
+        .thenReturn(Mono.error(new OptimisticLockingFailureException("Conflict")))
+        .thenAnswer(invocation -> Mono.just(invocation.getArgument(0, Person.class)));
+
+    service.updatePerson(PersonDefaults.ID, new PersonUpdateRequest(Optional.of(PersonDefaults.OTHER_NAME)))
+        .as(StepVerifier::create)
+        .assertNext(personResponse -> assertThat(personResponse.name()).isEqualTo(PersonDefaults.OTHER_NAME))
+        .verifyComplete();
+
+    assertThat(read.subscribeCount()).isEqualTo(2);
+  }
+
+  @Test
+  void update_person_gives_up_on_repeated_conflicts() {
+    when(repository.findById(PersonDefaults.ID)).thenReturn(Mono.just(
+        new Person(PersonDefaults.ID, PersonDefaults.NAME,
+            PersonDefaults.CREATED_DATE, PersonDefaults.LAST_MODIFIED_DATE, PersonDefaults.VERSION)));
+    when(repository.save(any())).thenReturn(Mono.error(new OptimisticLockingFailureException("Conflict")));
+
+    service.updatePerson(PersonDefaults.ID, new PersonUpdateRequest(Optional.of(PersonDefaults.OTHER_NAME)))
+        .as(StepVerifier::create)
+        .verifyError(OptimisticLockingFailureException.class);
+
+    verify(repository, times(4)).save(any());
+  }
+
   @Test
   void delete_person_with_null_id_fails() {
     service.deletePerson(null)
@@ -79,4 +269,112 @@ class PersonServiceTest {
         .verifyComplete();
   }
 
-}
\ No newline at end of file
+  @Test
+  void get_person_reads_through_cache() {
+    when(repository.findById(PersonDefaults.ID))
+        .thenReturn(Mono.just(Person.from(PersonDefaults.ID, PersonDefaults.NAME)));
+
+    service.getPerson(PersonDefaults.ID)
+        .then(service.getPerson(PersonDefaults.ID))
+        .as(StepVerifier::create)
+        .assertNext(personResponse -> assertThat(personResponse.id()).isEqualTo(PersonDefaults.ID))
+        .verifyComplete();
+
+    verify(repository, times(1)).findById(PersonDefaults.ID);
+  }
+
+  @Test
+  void get_versioned_person() {
+    when(repository.findById(PersonDefaults.ID))
+        .thenReturn(Mono.just(new Person(PersonDefaults.ID, PersonDefaults.NAME,
+            PersonDefaults.CREATED_DATE, PersonDefaults.LAST_MODIFIED_DATE, PersonDefaults.VERSION)));
+
+    service.getVersionedPerson(PersonDefaults.ID)
+        .as(StepVerifier::create)
+        .expectNext(new Versioned<>(
+            new ResourceVersion(PersonDefaults.ID, PersonDefaults.VERSION, PersonDefaults.LAST_MODIFIED_DATE),
+            new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME)))
+        .verifyComplete();
+  }
+
+  @Test
+  void get_person_version_from_repository() {
+    var version = new ResourceVersion(PersonDefaults.ID, PersonDefaults.VERSION, PersonDefaults.LAST_MODIFIED_DATE);
+    when(repository.findVersionById(PersonDefaults.ID)).thenReturn(Mono.just(version));
+
+    service.getPersonVersion(PersonDefaults.ID)
+        .as(StepVerifier::create)
+        .expectNext(version)
+        .verifyComplete();
+  }
+
+  @Test
+  void get_person_version_from_cache() {
+    var versionLookup = PublisherProbe.<ResourceVersion>empty();
+    when(repository.findVersionById(PersonDefaults.ID)).thenReturn(versionLookup.mono());
+    when(repository.findById(PersonDefaults.ID))
+        .thenReturn(Mono.just(new Person(PersonDefaults.ID, PersonDefaults.NAME,
+            PersonDefaults.CREATED_DATE, PersonDefaults.LAST_MODIFIED_DATE, PersonDefaults.VERSION)));
+
+    service.getPerson(PersonDefaults.ID)
+        .then(service.getPersonVersion(PersonDefaults.ID))
+        .as(StepVerifier::create)
+        .expectNext(new ResourceVersion(PersonDefaults.ID, PersonDefaults.VERSION, PersonDefaults.LAST_MODIFIED_DATE))
+        .verifyComplete();
+
+    versionLookup.assertWasNotSubscribed();
+  }
+
+  @Test
+  void update_person_evicts_cache() {
+    var person = Person.from(PersonDefaults.ID, PersonDefaults.NAME);
+    cacheManager.getCache(CacheNames.PEOPLE).put(PersonDefaults.ID, person);
+
+    when(repository.findById(PersonDefaults.ID)).thenReturn(Mono.just(person));
+    when(repository.save(any(Person.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+    service.updatePerson(PersonDefaults.ID, new PersonUpdateRequest(Optional.of(PersonDefaults.OTHER_NAME)))
+        .as(StepVerifier::create)
+        .assertNext(personResponse -> assertThat(personResponse.name()).isEqualTo(PersonDefaults.OTHER_NAME))
+        .verifyComplete();
+
+    assertThat(cacheManager.getCache(CacheNames.PEOPLE).get(PersonDefaults.ID)).isNull();
+  }
+
+  @Test
+  void get_person_events() {
+    var pageable = PageRequest.of(1, 2);
+
+    when(participantRepository.countByPersonId(PersonDefaults.ID)).thenReturn(Mono.just(3L));
+    when(eventRepository.findByParticipantPersonId(PersonDefaults.ID, 2, 2L)).thenReturn(Flux.just(
+        Event.from(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME)));
+
+    service.getPersonEvents(PersonDefaults.ID, pageable)
+        .as(StepVerifier::create)
+        .assertNext(page -> {
+          assertThat(page.getTotalElements()).isEqualTo(3);
+          assertThat(page.getContent()).singleElement().satisfies(event -> {
+            assertThat(event.id()).isEqualTo(EventDefaults.ID);
+            assertThat(event.title()).isEqualTo(EventDefaults.TITLE);
+          });
+        }).verifyComplete();
+  }
+
+  @Test
+  void get_person_events_with_null_id_fails() {
+    service.getPersonEvents(null, PageRequest.ofSize(20))
+        .as(StepVerifier::create)
+        .verifyError(NullPointerException.class);
+  }
+
+  @Test
+  void stream_person_events() {
+    when(eventRepository.findByParticipantPersonId(PersonDefaults.ID)).thenReturn(Flux.just(
+        Event.from(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME)));
+
+    service.streamPersonEvents(PersonDefaults.ID)
+        .as(StepVerifier::create)
+        .assertNext(event -> assertThat(event.id()).isEqualTo(EventDefaults.ID))
+        .verifyComplete();
+  }
+}
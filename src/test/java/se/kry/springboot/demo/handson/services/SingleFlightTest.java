@@ -0,0 +1,129 @@
+package se.kry.springboot.demo.handson.services;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import se.kry.springboot.demo.handson.util.CacheGenerations;
+
+class SingleFlightTest {
+
+  private final CacheGenerations generations = new CacheGenerations();
+
+  private final SingleFlight<String, String> singleFlight = new SingleFlight<>(generations, Duration.ofSeconds(1));
+
+  @Test
+  void concurrent_reads_share_one_load() {
+    var loads = new AtomicInteger();
+    var result = Sinks.<String>one();
+    var read = singleFlight.one("key", () -> result.asMono().doOnSubscribe(subscription -> loads.incrementAndGet()));
+
+    var first = read.toFuture();
+    var second = read.toFuture();
+    result.tryEmitValue("value");
+
+    assertThat(first).isCompletedWithValue("value");
+    assertThat(second).isCompletedWithValue("value");
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void reads_after_completion_load_again() {
+    var loads = new AtomicInteger();
+    var read = singleFlight.one("key", () -> Mono.fromSupplier(() -> "value" + loads.incrementAndGet()));
+
+    read.then(read)
+        .as(StepVerifier::create)
+        .expectNext("value2")
+        .verifyComplete();
+  }
+
+  @Test
+  void reads_after_failure_load_again() {
+    var loads = new AtomicInteger();
+    var read = singleFlight.one("key", () -> loads.incrementAndGet() == 1
+        ? Mono.error(new IllegalStateException("Failed"))
+        : Mono.just("value"));
+
+    read.as(StepVerifier::create)
+        .verifyError(IllegalStateException.class);
+    read.as(StepVerifier::create)
+        .expectNext("value")
+        .verifyComplete();
+  }
+
+  @Test
+  void different_keys_load_separately() {
+    var loads = new AtomicInteger();
+    var result = Sinks.<String>one();
+
+    singleFlight.one("key", () -> result.asMono().doOnSubscribe(subscription -> loads.incrementAndGet())).subscribe();
+    singleFlight.one("other", () -> result.asMono().doOnSubscribe(subscription -> loads.incrementAndGet())).subscribe();
+
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void concurrent_streams_replay_all_elements() {
+    var loads = new AtomicInteger();
+    var elements = Sinks.many().replay().<String>all();
+    var read = singleFlight.many("key", () -> elements.asFlux().doOnSubscribe(subscription -> loads.incrementAndGet()));
+
+    elements.tryEmitNext("first");
+    var first = read.collectList().toFuture();
+    elements.tryEmitNext("second");
+    var second = read.collectList().toFuture();
+    elements.tryEmitComplete();
+
+    assertThat(first).isCompletedWithValue(List.of("first", "second"));
+    assertThat(second).isCompletedWithValue(List.of("first", "second"));
+    assertThat(loads).hasValue(1);
+  }
+
+  @Test
+  void cancelled_reader_does_not_cancel_others() {
+    var result = Sinks.<String>one();
+    var read = singleFlight.one("key", result::asMono);
+
+    read.subscribe().dispose();
+    var second = read.toFuture();
+    result.tryEmitValue("value");
+
+    assertThat(second).isCompletedWithValue("value");
+  }
+
+  @Test
+  void reads_after_eviction_start_a_new_flight() {
+    var loads = new AtomicInteger();
+    var result = Sinks.<String>one();
+    var read = singleFlight.one("key", () -> result.asMono().doOnSubscribe(subscription -> loads.incrementAndGet()));
+
+    var first = read.toFuture();
+    generations.advance("key");
+    var second = read.toFuture();
+    result.tryEmitValue("value");
+
+    assertThat(first).isCompletedWithValue("value");
+    assertThat(second).isCompletedWithValue("value");
+    assertThat(loads).hasValue(2);
+  }
+
+  @Test
+  void stuck_flight_times_out_and_is_forgotten() {
+    var loads = new AtomicInteger();
+    var timingOut = new SingleFlight<String, String>(Duration.ofMillis(50));
+    var read = timingOut.one("key", () -> loads.incrementAndGet() == 1 ? Mono.never() : Mono.just("value"));
+
+    read.as(StepVerifier::create)
+        .verifyError(TimeoutException.class);
+    read.as(StepVerifier::create)
+        .expectNext("value")
+        .verifyComplete();
+  }
+}
@@ -0,0 +1,134 @@
+package se.kry.springboot.demo.handson.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static se.kry.springboot.demo.handson.util.ReactiveCaches.evictAfter;
+import static se.kry.springboot.demo.handson.util.ReactiveCaches.load;
+import static se.kry.springboot.demo.handson.util.ReactiveCaches.peek;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.AbstractReactiveTransactionManager;
+import org.springframework.transaction.reactive.GenericReactiveTransaction;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class ReactiveCachesTest {
+
+  @Test
+  void load_does_not_cache_empty() {
+    var cache = new ConcurrentMapCache("test");
+
+    load(cache, new CacheGenerations(), "key", Mono::<String>empty)
+        .as(StepVerifier::create)
+        .verifyComplete();
+
+    assertThat(cache.get("key")).isNull();
+  }
+
+  @Test
+  void peek_does_not_load() {
+    var cache = new ConcurrentMapCache("test");
+    var read = peek(cache, "key", String.class);
+
+    read.as(StepVerifier::create)
+        .verifyComplete();
+
+    cache.put("key", "value");
+
+    read.as(StepVerifier::create)
+        .assertNext(value -> assertThat(value).isEqualTo("value"))
+        .verifyComplete();
+  }
+
+  @Test
+  void evict_after_write() {
+    var cache = new ConcurrentMapCache("test");
+    cache.put("key", "value");
+
+    evictAfter(cache, new CacheGenerations(), "key", Mono.just("other"))
+        .as(StepVerifier::create)
+        .assertNext(value -> assertThat(value).isEqualTo("other"))
+        .verifyComplete();
+
+    assertThat(cache.get("key")).isNull();
+  }
+
+  @Test
+  void evict_after_failed_write() {
+    var cache = new ConcurrentMapCache("test");
+    cache.put("key", "value");
+
+    evictAfter(cache, new CacheGenerations(), "key", Mono.error(IllegalStateException::new))
+        .as(StepVerifier::create)
+        .verifyError(IllegalStateException.class);
+
+    assertThat(cache.get("key")).isNull();
+  }
+
+  @Test
+  void load_does_not_cache_load_started_before_eviction() {
+    var cache = new ConcurrentMapCache("test");
+    var generations = new CacheGenerations();
+
+    load(cache, generations, "key",
+        () -> evictAfter(cache, generations, "key", Mono.just("other")).thenReturn("stale"))
+        .as(StepVerifier::create)
+        .assertNext(value -> assertThat(value).isEqualTo("stale"))
+        .verifyComplete();
+
+    assertThat(cache.get("key")).isNull();
+  }
+
+  @Test
+  void evict_after_transaction_completes() {
+    var cache = new ConcurrentMapCache("test");
+    var generations = new CacheGenerations();
+    var transactionalOperator = TransactionalOperator.create(
+        new NoOpTransactionManager(() -> cache.put("key", "read before commit")));
+    cache.put("key", "value");
+
+    evictAfter(cache, generations, "key", Mono.just("other"))
+        .as(transactionalOperator::transactional)
+        .as(StepVerifier::create)
+        .assertNext(value -> assertThat(value).isEqualTo("other"))
+        .verifyComplete();
+
+    assertThat(cache.get("key")).isNull();
+  }
+
+  private static class NoOpTransactionManager extends AbstractReactiveTransactionManager {
+
+    private final Runnable onCommit;
+
+    NoOpTransactionManager(Runnable onCommit) {
+      this.onCommit = onCommit;
+    }
+
+    @Override
+    protected Object doGetTransaction(TransactionSynchronizationManager synchronizationManager) {
+      return new Object();
+    }
+
+    @Override
+    protected Mono<Void> doBegin(TransactionSynchronizationManager synchronizationManager, Object transaction,
+                                 TransactionDefinition definition) {
+      return Mono.empty();
+    }
+
+    @Override
+    protected Mono<Void> doCommit(TransactionSynchronizationManager synchronizationManager,
+                                  GenericReactiveTransaction status) {
+      return Mono.delay(Duration.ofMillis(10)).then(Mono.fromRunnable(onCommit));
+    }
+
+    @Override
+    protected Mono<Void> doRollback(TransactionSynchronizationManager synchronizationManager,
+                                    GenericReactiveTransaction status) {
+      return Mono.empty();
+    }
+  }
+}
@@ -2,16 +2,20 @@ package se.kry.springboot.demo.handson.util;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static se.kry.springboot.demo.handson.util.ReactivePreconditions.requireNonNull;
+import static se.kry.springboot.demo.handson.util.ReactivePreconditions.requireNonNullMany;
 
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 class ReactivePreconditionsTest {
 
-  static Stream<String[]> require_non_null_invalid_tuple2_arguments() {
+  static Stream<String[]> require_non_null_invalid_two_values_arguments() {
     return Stream.of(
         new String[] {null, null},
         new String[] {"foo", null},
@@ -19,7 +23,7 @@ class ReactivePreconditionsTest {
     );
   }
 
-  static Stream<String[]> require_non_null_invalid_tuple3_arguments() {
+  static Stream<String[]> require_non_null_invalid_three_values_arguments() {
     return Stream.of(
         new String[] {null, null, null},
         new String[] {"foo", null, null},
@@ -33,54 +37,92 @@ class ReactivePreconditionsTest {
 
   @Test
   void require_non_null_succeeds_on_non_null_value() {
-    requireNonNull("foobar")
+    requireNonNull("foobar", () -> Mono.just("result"))
         .as(StepVerifier::create)
-        .assertNext(value -> assertThat(value).isEqualTo("foobar"))
+        .assertNext(value -> assertThat(value).isEqualTo("result"))
         .verifyComplete();
   }
 
   @Test
   void require_non_null_fails_on_null_value() {
-    requireNonNull(null)
+    var invocations = new AtomicInteger();
+
+    requireNonNull(null, () -> Mono.fromSupplier(invocations::incrementAndGet))
+        .as(StepVerifier::create)
+        .verifyError(NullPointerException.class);
+
+    assertThat(invocations).hasValue(0);
+  }
+
+  @Test
+  void require_non_null_succeeds_on_non_null_two_values() {
+    requireNonNull("foo", "bar", () -> Mono.just("result"))
+        .as(StepVerifier::create)
+        .assertNext(value -> assertThat(value).isEqualTo("result"))
+        .verifyComplete();
+  }
+
+  @ParameterizedTest
+  @MethodSource("require_non_null_invalid_two_values_arguments")
+  void require_non_null_fails_on_invalid_two_values(String object1, String object2) {
+    var invocations = new AtomicInteger();
+
+    requireNonNull(object1, object2, () -> Mono.fromSupplier(invocations::incrementAndGet))
         .as(StepVerifier::create)
         .verifyError(NullPointerException.class);
+
+    assertThat(invocations).hasValue(0);
   }
 
   @Test
-  void require_non_null_succeeds_on_non_null_tuple2() {
-    requireNonNull("foo", "bar")
+  void require_non_null_succeeds_on_non_null_three_values() {
+    requireNonNull("foo", "bar", "baz", () -> Mono.just("result"))
         .as(StepVerifier::create)
-        .assertNext(tuple -> {
-          assertThat(tuple.getT1()).isEqualTo("foo");
-          assertThat(tuple.getT2()).isEqualTo("bar");
-        }).verifyComplete();
+        .assertNext(value -> assertThat(value).isEqualTo("result"))
+        .verifyComplete();
   }
 
   @ParameterizedTest
-  @MethodSource("require_non_null_invalid_tuple2_arguments")
-  void require_non_null_fails_on_invalid_tuple2(String object1, String object2) {
-    requireNonNull(object1, object2)
+  @MethodSource("require_non_null_invalid_three_values_arguments")
+  void require_non_null_fails_on_invalid_three_values(String object1, String object2, String object3) {
+    var invocations = new AtomicInteger();
+
+    requireNonNull(object1, object2, object3, () -> Mono.fromSupplier(invocations::incrementAndGet))
+        .as(StepVerifier::create)
+        .verifyError(NullPointerException.class);
+
+    assertThat(invocations).hasValue(0);
+  }
+
+  @Test
+  void require_non_null_many_succeeds_on_non_null_value() {
+    requireNonNullMany("foobar", () -> Flux.just("foo", "bar"))
+        .as(StepVerifier::create)
+        .expectNext("foo", "bar")
+        .verifyComplete();
+  }
+
+  @Test
+  void require_non_null_many_fails_on_null_value() {
+    requireNonNullMany(null, () -> Flux.just("foo", "bar"))
         .as(StepVerifier::create)
         .verifyError(NullPointerException.class);
   }
 
   @Test
-  void require_non_null_succeeds_on_non_null_tuple3() {
-    requireNonNull("foo", "bar", "baz")
+  void require_non_null_many_succeeds_on_non_null_two_values() {
+    requireNonNullMany("foo", "bar", () -> Flux.just("foo", "bar"))
         .as(StepVerifier::create)
-        .assertNext(tuple -> {
-          assertThat(tuple.getT1()).isEqualTo("foo");
-          assertThat(tuple.getT2()).isEqualTo("bar");
-          assertThat(tuple.getT3()).isEqualTo("baz");
-        }).verifyComplete();
+        .expectNext("foo", "bar")
+        .verifyComplete();
   }
 
   @ParameterizedTest
-  @MethodSource("require_non_null_invalid_tuple3_arguments")
-  void require_non_null_fails_on_invalid_tuple3(String object1, String object2, String object3) {
-    requireNonNull(object1, object2, object3)
+  @MethodSource("require_non_null_invalid_two_values_arguments")
+  void require_non_null_many_fails_on_invalid_two_values(String object1, String object2) {
+    requireNonNullMany(object1, object2, () -> Flux.just("foo", "bar"))
         .as(StepVerifier::create)
         .verifyError(NullPointerException.class);
   }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,206 @@
+package se.kry.springboot.demo.handson.web;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.publisher.PublisherProbe;
+import se.kry.springboot.demo.handson.domain.EventConstants;
+import se.kry.springboot.demo.handson.domain.EventCreationRequest;
+import se.kry.springboot.demo.handson.domain.EventDefaults;
+import se.kry.springboot.demo.handson.domain.EventLookupRequest;
+import se.kry.springboot.demo.handson.domain.EventResponse;
+import se.kry.springboot.demo.handson.domain.PersonCreationRequest;
+import se.kry.springboot.demo.handson.domain.PersonDefaults;
+import se.kry.springboot.demo.handson.domain.PersonResponse;
+import se.kry.springboot.demo.handson.infra.InfraConfiguration;
+import se.kry.springboot.demo.handson.services.EventService;
+import se.kry.springboot.demo.handson.services.PersonService;
+
+@WebFluxTest(BatchController.class)
+@Import(InfraConfiguration.class)
+class BatchControllerTest {
+
+  @Autowired
+  private WebTestClient webTestClient;
+
+  @MockBean
+  private EventService eventService;
+
+  @MockBean
+  private PersonService personService;
+
+  @Test
+  void lookup_events() {
+    when(eventService.getEventsById(List.of(EventDefaults.OTHER_ID, EventDefaults.ID))).thenReturn(Flux.just(
+        new EventResponse(EventDefaults.OTHER_ID, EventDefaults.OTHER_TITLE, EventDefaults.OTHER_START_TIME,
+            EventDefaults.OTHER_END_TIME),
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME)));
+
+    webTestClient.post().uri("/api/v1/events:lookup")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("""
+            {"ids":["%s","%s"]}""".formatted(EventDefaults.OTHER_ID, EventDefaults.ID))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.length()").isEqualTo(2)
+        .jsonPath("$[0].id").isEqualTo(EventDefaults.OTHER_ID_STRING)
+        .jsonPath("$[1].id").isEqualTo(EventDefaults.ID_STRING);
+  }
+
+  @Test
+  void lookup_events_with_null_id() {
+    webTestClient.post().uri("/api/v1/events:lookup")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue("""
+            {"ids":[null]}""")
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void lookup_events_as_ndjson() {
+    when(eventService.getEventsById(List.of(EventDefaults.ID))).thenReturn(Flux.just(
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME)));
+
+    webTestClient.post().uri("/api/v1/events:lookup")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_NDJSON)
+        .bodyValue("""
+            {"ids":["%s"]}""".formatted(EventDefaults.ID))
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_NDJSON)
+        .expectBodyList(EventResponse.class)
+        .hasSize(1);
+  }
+
+  @Test
+  void lookup_too_many_events() {
+    var ids = Stream.generate(UUID::randomUUID).limit(EventConstants.Sizes.LOOKUP_IDS + 1).toList();
+
+    webTestClient.post().uri("/api/v1/events:lookup")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(new EventLookupRequest(ids))
+        .exchange()
+        .expectStatus().isBadRequest();
+
+    verify(eventService, never()).getEventsById(anyList());
+  }
+
+  @Test
+  void create_events_from_json_array() {
+    var payload = """
+        [{"title":"%1$s","startTime":"%2$s","endTime":"%3$s"},
+         {"title":"","startTime":"%2$s","endTime":"%3$s"}]
+        """.formatted(EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME);
+
+    when(eventService.createEvents(anyList()))
+        .thenReturn(Flux.just(
+            new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME)));
+
+    webTestClient.post().uri("/api/v1/events:batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .bodyValue(payload)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.length()").isEqualTo(2)
+        .jsonPath("$[0].index").isEqualTo(0)
+        .jsonPath("$[0].value.id").isEqualTo(EventDefaults.ID_STRING)
+        .jsonPath("$[0].errors").isEmpty()
+        .jsonPath("$[1].index").isEqualTo(1)
+        .jsonPath("$[1].value").isEmpty()
+        .jsonPath("$[1].errors[0]").isEqualTo("title must not be blank");
+
+    verify(eventService).createEvents(List.of(
+        new EventCreationRequest(EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME)));
+  }
+
+  @Test
+  void create_people_from_ndjson() {
+    var payload = """
+        {"name":"%s"}
+        {"name":"%s"}
+        """.formatted(PersonDefaults.NAME, PersonDefaults.OTHER_NAME);
+
+    var created = PublisherProbe.of(Flux.just(
+        new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME),
+        new PersonResponse(PersonDefaults.OTHER_ID, PersonDefaults.OTHER_NAME)));
+
+    when(personService.createPeople(anyList())).thenReturn(created.flux());
+
+    webTestClient.post().uri("/api/v1/people:batch")
+        .contentType(MediaType.APPLICATION_NDJSON)
+        .accept(MediaType.APPLICATION_NDJSON)
+        .bodyValue(payload)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .expectBodyList(PersonBatchItem.class)
+        .hasSize(2)
+        .contains(
+            new PersonBatchItem(0, new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME), List.of()),
+            new PersonBatchItem(1, new PersonResponse(PersonDefaults.OTHER_ID, PersonDefaults.OTHER_NAME), List.of()));
+
+    verify(personService).createPeople(List.of(
+        new PersonCreationRequest(PersonDefaults.NAME),
+        new PersonCreationRequest(PersonDefaults.OTHER_NAME)));
+
+    created.assertWasNotCancelled();
+  }
+
+  @Test
+  void create_people_reports_failed_batch_per_item() {
+    when(personService.createPeople(anyList())).thenReturn(Flux.error(new IllegalStateException("boom")));
+
+    webTestClient.post().uri("/api/v1/people:batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .bodyValue("[{\"name\":\"%s\"}]".formatted(PersonDefaults.NAME))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$[0].index").isEqualTo(0)
+        .jsonPath("$[0].errors[0]").isEqualTo(BatchController.BATCH_FAILED);
+  }
+
+  @Test
+  void create_people_reports_whole_batch_failed_after_partial_success() {
+    when(personService.createPeople(anyList())).thenReturn(
+        Flux.just(new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME))
+            .concatWith(Flux.error(new IllegalStateException("commit failed on table person"))));
+
+    webTestClient.post().uri("/api/v1/people:batch")
+        .contentType(MediaType.APPLICATION_JSON)
+        .accept(MediaType.APPLICATION_JSON)
+        .bodyValue("[{\"name\":\"%s\"},{\"name\":\"%s\"}]"
+            .formatted(PersonDefaults.NAME, PersonDefaults.OTHER_NAME))
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.length()").isEqualTo(2)
+        .jsonPath("$[0].index").isEqualTo(0)
+        .jsonPath("$[0].value").doesNotExist()
+        .jsonPath("$[0].errors[0]").isEqualTo(BatchController.BATCH_FAILED)
+        .jsonPath("$[1].index").isEqualTo(1)
+        .jsonPath("$[1].errors[0]").isEqualTo(BatchController.BATCH_FAILED);
+  }
+
+  record PersonBatchItem(long index, PersonResponse value, List<String> errors) {
+  }
+}
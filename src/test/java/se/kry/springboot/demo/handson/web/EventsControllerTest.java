@@ -1,34 +1,57 @@
 package se.kry.springboot.demo.handson.web;
 
 import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import se.kry.springboot.demo.handson.domain.CursorPage;
+import se.kry.springboot.demo.handson.domain.EventCursor;
 import se.kry.springboot.demo.handson.domain.EventDefaults;
 import se.kry.springboot.demo.handson.domain.EventParticipantsUpdateRequest;
 import se.kry.springboot.demo.handson.domain.EventResponse;
 import se.kry.springboot.demo.handson.domain.EventUpdateRequest;
 import se.kry.springboot.demo.handson.domain.PersonDefaults;
 import se.kry.springboot.demo.handson.domain.PersonResponse;
+import se.kry.springboot.demo.handson.domain.ResourceVersion;
+import se.kry.springboot.demo.handson.domain.StartIsAfterEndException;
+import se.kry.springboot.demo.handson.domain.VersionMismatchException;
+import se.kry.springboot.demo.handson.domain.Versioned;
 import se.kry.springboot.demo.handson.services.EventService;
 
 @WebFluxTest(EventsController.class)
 class EventsControllerTest {
 
+  private static final ResourceVersion VERSION =
+      new ResourceVersion(EventDefaults.ID, 3L, Instant.parse("2001-01-01T12:00:00.123456Z"));
+
   @Autowired
   private WebTestClient webTestClient;
 
@@ -187,10 +210,165 @@ class EventsControllerTest {
   }
 
   @Test
-  void read_event() {
-    when(service.getEvent(EventDefaults.ID)).thenReturn(Mono.just(
+  void stream_events_as_ndjson() {
+    when(service.streamEvents()).thenReturn(Flux.just(new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME)));
+
+    webTestClient.get().uri("/api/v1/events")
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .expectBody(String.class)
+        .value(body -> assertThat(body).contains(EventDefaults.ID_STRING).endsWith("\n"));
+  }
+
+  @Test
+  void stream_events_as_server_sent_events() {
+    when(service.streamEvents()).thenReturn(Flux.just(new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME)));
+
+    webTestClient.get().uri("/api/v1/events")
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+        .expectBody(String.class)
+        .value(body -> assertThat(body).startsWith("data:").contains(EventDefaults.ID_STRING));
+  }
+
+  @Test
+  void read_events_overlapping() {
+    var content = List.of(
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME));
+    var pageable = PageRequest.ofSize(20);
+
+    when(service.getEventsOverlapping(EventDefaults.START_TIME, EventDefaults.END_TIME, pageable))
+        .thenReturn(Mono.just(new PageImpl<>(content, pageable, 1)));
+
+    webTestClient.get().uri(builder -> builder.path("/api/v1/events")
+            .queryParam("from", EventDefaults.START_TIME_STRING)
+            .queryParam("to", EventDefaults.END_TIME_STRING)
+            .build())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content[0].id").isEqualTo(EventDefaults.ID_STRING)
+        .jsonPath("$.totalElements").isEqualTo(1);
+  }
+
+  @Test
+  void read_events_overlapping_with_start_after_end_fails() {
+    when(service.getEventsOverlapping(EventDefaults.END_TIME, EventDefaults.START_TIME, PageRequest.ofSize(20)))
+        .thenReturn(Mono.error(new StartIsAfterEndException(EventDefaults.END_TIME, EventDefaults.START_TIME)));
+
+    webTestClient.get().uri(builder -> builder.path("/api/v1/events")
+            .queryParam("from", EventDefaults.END_TIME_STRING)
+            .queryParam("to", EventDefaults.START_TIME_STRING)
+            .build())
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void stream_events_overlapping() {
+    when(service.streamEventsOverlapping(EventDefaults.START_TIME, EventDefaults.END_TIME)).thenReturn(Flux.just(
         new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME)));
 
+    webTestClient.get().uri(builder -> builder.path("/api/v1/events")
+            .queryParam("from", EventDefaults.START_TIME_STRING)
+            .queryParam("to", EventDefaults.END_TIME_STRING)
+            .build())
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .expectBody(String.class)
+        .value(body -> assertThat(body).contains(EventDefaults.ID_STRING));
+  }
+
+  @Test
+  void read_events_slice() {
+    var content = List.of(
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME));
+    var pageable = PageRequest.ofSize(20);
+
+    when(service.getEventsSlice(pageable))
+        .thenReturn(Mono.just(new SliceImpl<>(content, pageable, true)));
+
+    webTestClient.get().uri("/api/v1/events?count=false")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content").isArray()
+        .jsonPath("$.content[0].id").isEqualTo(EventDefaults.ID_STRING)
+        .jsonPath("$.number").isEqualTo(0)
+        .jsonPath("$.size").isEqualTo(20)
+        .jsonPath("$.first").isEqualTo(true)
+        .jsonPath("$.last").isEqualTo(false)
+        .jsonPath("$.totalElements").doesNotExist()
+        .jsonPath("$.totalPages").doesNotExist();
+  }
+
+  @Test
+  void read_events_by_cursor() {
+    var content = List.of(
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME));
+    var next = new EventCursor(EventDefaults.START_TIME, EventDefaults.ID).token();
+
+    when(service.getEvents(Optional.empty(), 20))
+        .thenReturn(Mono.just(new CursorPage<>(content, next)));
+
+    webTestClient.get().uri("/api/v1/events?cursor=")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content").isArray()
+        .jsonPath("$.content[0].id").isEqualTo(EventDefaults.ID_STRING)
+        .jsonPath("$.content[0].title").isEqualTo(EventDefaults.TITLE)
+        .jsonPath("$.next").isEqualTo(next);
+  }
+
+  @Test
+  void read_events_by_cursor_ignores_count() {
+    when(service.getEvents(Optional.empty(), 20))
+        .thenReturn(Mono.just(new CursorPage<>(emptyList(), null)));
+
+    webTestClient.get().uri("/api/v1/events?count=false&cursor=")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content").isEmpty()
+        .jsonPath("$.next").isEmpty();
+
+    verify(service, never()).getEventsSlice(any());
+  }
+
+  @Test
+  void read_events_by_cursor_with_token() {
+    var cursor = new EventCursor(EventDefaults.START_TIME, EventDefaults.ID);
+
+    when(service.getEvents(Optional.of(cursor), 5))
+        .thenReturn(Mono.just(new CursorPage<>(emptyList(), null)));
+
+    webTestClient.get().uri("/api/v1/events?cursor={cursor}&size=5", cursor.token())
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content").isEmpty()
+        .jsonPath("$.next").isEmpty();
+  }
+
+  @Test
+  void read_events_by_cursor_with_invalid_token() {
+    webTestClient.get().uri("/api/v1/events?cursor=foobar")
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void read_event() {
+    when(service.getVersionedEvent(EventDefaults.ID)).thenReturn(Mono.just(new Versioned<>(VERSION,
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME))));
+
     webTestClient.get().uri("/api/v1/events/{id}", EventDefaults.ID)
         .exchange()
         .expectStatus().isOk()
@@ -202,11 +380,138 @@ class EventsControllerTest {
 
   @Test
   void read_event_with_unknown_id() {
-    when(service.getEvent(EventDefaults.ID)).thenReturn(Mono.empty());
+    when(service.getVersionedEvent(EventDefaults.ID)).thenReturn(Mono.empty());
 
     webTestClient.get().uri("/api/v1/events/{id}", EventDefaults.ID)
         .exchange()
         .expectStatus().isNotFound();
+    verify(service, never()).getEventVersion(EventDefaults.ID);
+  }
+
+  @Test
+  void read_event_sets_validators() {
+    when(service.getVersionedEvent(EventDefaults.ID)).thenReturn(Mono.just(new Versioned<>(VERSION,
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME))));
+
+    webTestClient.get().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(HttpHeaders.ETAG, '"' + VERSION.etag() + "-json\"")
+        .expectHeader().lastModified(VERSION.lastModified().truncatedTo(ChronoUnit.SECONDS).toEpochMilli())
+        .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+  }
+
+  @Test
+  void read_event_with_validators_per_content_coding() {
+    when(service.getVersionedEvent(EventDefaults.ID)).thenReturn(Mono.just(new Versioned<>(VERSION,
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME))));
+
+    webTestClient.get().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(HttpHeaders.ETAG, '"' + VERSION.etag() + "-json-gzip\"");
+  }
+
+  @Test
+  void read_event_takes_validators_from_the_loaded_row() {
+    var current = new ResourceVersion(EventDefaults.ID, 4L, VERSION.lastModified().plusSeconds(60));
+    when(service.getEventVersion(EventDefaults.ID)).thenReturn(Mono.just(VERSION));
+    when(service.getVersionedEvent(EventDefaults.ID)).thenReturn(Mono.just(new Versioned<>(current,
+        new EventResponse(EventDefaults.ID, EventDefaults.OTHER_TITLE,
+            EventDefaults.START_TIME, EventDefaults.END_TIME))));
+
+    webTestClient.get().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .ifNoneMatch("\"stale\"")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(HttpHeaders.ETAG, '"' + current.etag() + "-json\"")
+        .expectBody()
+        .jsonPath("$.title").isEqualTo(EventDefaults.OTHER_TITLE);
+  }
+
+  @Test
+  void read_event_without_validators_reads_once() {
+    when(service.getVersionedEvent(EventDefaults.ID)).thenReturn(Mono.just(new Versioned<>(VERSION,
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME))));
+
+    webTestClient.get().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .exchange()
+        .expectStatus().isOk();
+    verify(service, never()).getEventVersion(EventDefaults.ID);
+  }
+
+  @Test
+  void read_event_as_cbor() throws IOException {
+    when(service.getVersionedEvent(EventDefaults.ID)).thenReturn(Mono.just(new Versioned<>(VERSION,
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME))));
+
+    var body = webTestClient.get().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .accept(MediaType.APPLICATION_CBOR)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+        .expectBody(byte[].class)
+        .returnResult().getResponseBody();
+
+    var cborMapper = new CBORMapper();
+    var event = cborMapper.readTree(body);
+    assertThat(cborMapper.treeToValue(event.get("id"), UUID.class)).isEqualTo(EventDefaults.ID);
+    assertThat(event.get("title").asText()).isEqualTo(EventDefaults.TITLE);
+    assertThat(event.get("startTime").asText()).isEqualTo(EventDefaults.START_TIME_STRING);
+    assertThat(event.get("endTime").asText()).isEqualTo(EventDefaults.END_TIME_STRING);
+  }
+
+  @Test
+  void read_event_with_matching_etag() {
+    when(service.getEventVersion(EventDefaults.ID)).thenReturn(Mono.just(VERSION));
+
+    webTestClient.get().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .ifNoneMatch('"' + VERSION.etag() + "-json\"")
+        .exchange()
+        .expectStatus().isNotModified()
+        .expectBody().isEmpty();
+    verify(service, never()).getVersionedEvent(EventDefaults.ID);
+  }
+
+  @Test
+  void read_event_as_cbor_with_json_etag() {
+    when(service.getEventVersion(EventDefaults.ID)).thenReturn(Mono.just(VERSION));
+    when(service.getVersionedEvent(EventDefaults.ID)).thenReturn(Mono.just(new Versioned<>(VERSION,
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME))));
+
+    webTestClient.get().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .accept(MediaType.APPLICATION_CBOR)
+        .ifNoneMatch('"' + VERSION.etag() + "-json\"")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(HttpHeaders.ETAG, '"' + VERSION.etag() + "-cbor\"")
+        .expectHeader().contentType(MediaType.APPLICATION_CBOR);
+  }
+
+  @Test
+  void read_event_not_modified_since() {
+    when(service.getEventVersion(EventDefaults.ID)).thenReturn(Mono.just(VERSION));
+
+    webTestClient.get().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .ifModifiedSince(VERSION.lastModified().atZone(ZoneOffset.UTC))
+        .exchange()
+        .expectStatus().isNotModified();
+    verify(service, never()).getVersionedEvent(EventDefaults.ID);
+  }
+
+  @Test
+  void read_event_with_stale_etag() {
+    when(service.getEventVersion(EventDefaults.ID)).thenReturn(Mono.just(VERSION));
+    when(service.getVersionedEvent(EventDefaults.ID)).thenReturn(Mono.just(new Versioned<>(VERSION,
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME))));
+
+    webTestClient.get().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .ifNoneMatch("\"stale\"")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.title").isEqualTo(EventDefaults.TITLE);
   }
 
   @Test
@@ -215,7 +520,7 @@ class EventsControllerTest {
         new EventResponse(EventDefaults.ID, EventDefaults.OTHER_TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME);
     var eventUpdateRequest =
         new EventUpdateRequest(Optional.of(EventDefaults.OTHER_TITLE), Optional.empty(), Optional.empty());
-    when(service.updateEvent(EventDefaults.ID, eventUpdateRequest))
+    when(service.updateEvent(eq(EventDefaults.ID), eq(eventUpdateRequest), any()))
         .thenReturn(Mono.just(eventResponse));
 
     var payload = objectMapper.createObjectNode()
@@ -229,6 +534,30 @@ class EventsControllerTest {
         .expectStatus().isOk();
   }
 
+  @Test
+  void update_event_from_cbor() throws IOException {
+    var eventResponse =
+        new EventResponse(EventDefaults.ID, EventDefaults.OTHER_TITLE, EventDefaults.OTHER_START_TIME,
+            EventDefaults.END_TIME);
+    var eventUpdateRequest = new EventUpdateRequest(
+        Optional.of(EventDefaults.OTHER_TITLE), Optional.of(EventDefaults.OTHER_START_TIME), Optional.empty());
+    when(service.updateEvent(eq(EventDefaults.ID), eq(eventUpdateRequest), any()))
+        .thenReturn(Mono.just(eventResponse));
+
+    var cborMapper = new CBORMapper();
+    var payload = cborMapper.writeValueAsBytes(cborMapper.createObjectNode()
+        .put("title", EventDefaults.OTHER_TITLE)
+        .put("startTime", EventDefaults.OTHER_START_TIME_STRING));
+
+    webTestClient.patch().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .contentType(MediaType.APPLICATION_CBOR)
+        .bodyValue(payload)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.title").isEqualTo(EventDefaults.OTHER_TITLE);
+  }
+
   @Test
   void update_event_with_incorrect_id() {
     var payload = objectMapper.createObjectNode()
@@ -242,9 +571,69 @@ class EventsControllerTest {
         .expectStatus().isBadRequest();
   }
 
+  @Test
+  void update_event_with_matching_etag() {
+    when(service.updateEvent(eq(EventDefaults.ID), eq(new EventUpdateRequest(Optional.of(EventDefaults.OTHER_TITLE), Optional.empty(), Optional.empty())), any()))
+        .thenAnswer(invocation -> invocation.<Predicate<ResourceVersion>>getArgument(2).test(VERSION)
+            ? Mono.just(new EventResponse(EventDefaults.ID, EventDefaults.OTHER_TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME))
+            : Mono.error(new VersionMismatchException(VERSION)));
+
+    var payload = objectMapper.createObjectNode()
+        .put("title", EventDefaults.OTHER_TITLE)
+        .toString();
+
+    webTestClient.patch().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .header(HttpHeaders.IF_MATCH, '"' + VERSION.etag() + '"')
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(payload)
+        .exchange()
+        .expectStatus().isOk();
+
+    webTestClient.patch().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .header(HttpHeaders.IF_MATCH, "\"stale\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(payload)
+        .exchange()
+        .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+  }
+
+  @Test
+  void update_event_with_matching_representation_etag() {
+    var eventUpdateRequest =
+        new EventUpdateRequest(Optional.of(EventDefaults.OTHER_TITLE), Optional.empty(), Optional.empty());
+    when(service.updateEvent(eq(EventDefaults.ID), eq(eventUpdateRequest), any()))
+        .thenAnswer(invocation -> invocation.<Predicate<ResourceVersion>>getArgument(2).test(VERSION)
+            ? Mono.just(new EventResponse(EventDefaults.ID, EventDefaults.OTHER_TITLE,
+                EventDefaults.START_TIME, EventDefaults.END_TIME))
+            : Mono.error(new VersionMismatchException(VERSION)));
+
+    webTestClient.patch().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .header(HttpHeaders.IF_MATCH, '"' + VERSION.etag() + "-cbor\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(objectMapper.createObjectNode().put("title", EventDefaults.OTHER_TITLE).toString())
+        .exchange()
+        .expectStatus().isOk();
+  }
+
+  @Test
+  void update_event_with_conflict() {
+    when(service.updateEvent(eq(EventDefaults.ID), any(), any()))
+        .thenReturn(Mono.error(new OptimisticLockingFailureException("Conflict")));
+
+    var payload = objectMapper.createObjectNode()
+        .put("title", EventDefaults.OTHER_TITLE)
+        .toString();
+
+    webTestClient.patch().uri("/api/v1/events/{id}", EventDefaults.ID)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(payload)
+        .exchange()
+        .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+  }
+
   @Test
   void update_event_with_unknown_id() {
-    when(service.updateEvent(eq(EventDefaults.ID), any()))
+    when(service.updateEvent(eq(EventDefaults.ID), any(), any()))
         .thenReturn(Mono.empty());
 
     var payload = objectMapper.createObjectNode()
@@ -306,6 +695,27 @@ class EventsControllerTest {
         .jsonPath("$[0].name").isEqualTo(PersonDefaults.NAME);
   }
 
+  @Test
+  void read_event_participants_as_cbor() throws IOException {
+    when(service.getEventParticipants(EventDefaults.ID)).thenReturn(Flux.just(
+        new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME),
+        new PersonResponse(PersonDefaults.OTHER_ID, PersonDefaults.OTHER_NAME)));
+
+    var body = webTestClient.get().uri("/api/v1/events/{id}/participants", EventDefaults.ID)
+        .accept(MediaType.APPLICATION_CBOR)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+        .expectBody(byte[].class)
+        .returnResult().getResponseBody();
+
+    var cborMapper = new CBORMapper();
+    var participants = cborMapper.readTree(body);
+    assertThat(participants.isArray()).isTrue();
+    assertThat(cborMapper.treeToValue(participants.get(0).get("id"), UUID.class)).isEqualTo(PersonDefaults.ID);
+    assertThat(participants.get(1).get("name").asText()).isEqualTo(PersonDefaults.OTHER_NAME);
+  }
+
   @Test
   void update_event_participants_empty() {
     var payload = objectMapper.createObjectNode();
@@ -323,6 +733,44 @@ class EventsControllerTest {
         .jsonPath("$").isEmpty();
   }
 
+  @Test
+  void read_event_participant_count() {
+    when(service.getEventParticipantCount(EventDefaults.ID)).thenReturn(Mono.just(3L));
+
+    webTestClient.get().uri("/api/v1/events/{id}/participants/count", EventDefaults.ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody(Long.class).isEqualTo(3L);
+  }
+
+  @Test
+  void read_event_participant_count_not_found() {
+    when(service.getEventParticipantCount(EventDefaults.ID)).thenReturn(Mono.empty());
+
+    webTestClient.get().uri("/api/v1/events/{id}/participants/count", EventDefaults.ID)
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+
+  @Test
+  void check_event_participant() {
+    when(service.isEventParticipant(EventDefaults.ID, PersonDefaults.ID)).thenReturn(Mono.just(true));
+
+    webTestClient.head().uri("/api/v1/events/{id}/participants/{personId}", EventDefaults.ID, PersonDefaults.ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody().isEmpty();
+  }
+
+  @Test
+  void check_event_participant_not_found() {
+    when(service.isEventParticipant(EventDefaults.ID, PersonDefaults.ID)).thenReturn(Mono.just(false));
+
+    webTestClient.head().uri("/api/v1/events/{id}/participants/{personId}", EventDefaults.ID, PersonDefaults.ID)
+        .exchange()
+        .expectStatus().isNotFound();
+  }
+
   @Test
   void delete_event() {
     when(service.deleteEvent(EventDefaults.ID)).thenReturn(Mono.empty());
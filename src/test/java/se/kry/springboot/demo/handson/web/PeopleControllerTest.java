@@ -1,30 +1,61 @@
 package se.kry.springboot.demo.handson.web;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import se.kry.springboot.demo.handson.domain.CursorPage;
+import se.kry.springboot.demo.handson.domain.EventDefaults;
+import se.kry.springboot.demo.handson.domain.EventResponse;
+import se.kry.springboot.demo.handson.domain.PersonConstants;
 import se.kry.springboot.demo.handson.domain.PersonCreationRequest;
+import se.kry.springboot.demo.handson.domain.PersonCursor;
 import se.kry.springboot.demo.handson.domain.PersonDefaults;
 import se.kry.springboot.demo.handson.domain.PersonResponse;
 import se.kry.springboot.demo.handson.domain.PersonUpdateRequest;
+import se.kry.springboot.demo.handson.domain.ResourceVersion;
+import se.kry.springboot.demo.handson.domain.VersionMismatchException;
+import se.kry.springboot.demo.handson.domain.Versioned;
 import se.kry.springboot.demo.handson.services.PersonService;
 
 @WebFluxTest(PeopleController.class)
 class PeopleControllerTest {
 
+  private static final ResourceVersion VERSION =
+      new ResourceVersion(PersonDefaults.ID, 3L, Instant.parse("2001-01-01T12:00:00.123456Z"));
+
+  private static final MediaType APPLICATION_SMILE = new MediaType("application", "x-jackson-smile");
+
   @Autowired
   private WebTestClient webTestClient;
 
@@ -126,10 +157,205 @@ class PeopleControllerTest {
         .jsonPath("$.empty").isEqualTo(false);
   }
 
+  @Test
+  void read_people_by_ids() {
+    when(service.getPeopleById(List.of(PersonDefaults.OTHER_ID, PersonDefaults.ID))).thenReturn(Flux.just(
+        new PersonResponse(PersonDefaults.OTHER_ID, PersonDefaults.OTHER_NAME),
+        new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME)));
+
+    webTestClient.get().uri("/api/v1/people?ids={ids}", PersonDefaults.OTHER_ID + "," + PersonDefaults.ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.length()").isEqualTo(2)
+        .jsonPath("$[0].id").isEqualTo(PersonDefaults.OTHER_ID_STRING)
+        .jsonPath("$[1].id").isEqualTo(PersonDefaults.ID_STRING);
+  }
+
+  @Test
+  void read_too_many_people_by_ids() {
+    var ids = Stream.generate(UUID::randomUUID).limit(PersonConstants.Sizes.LOOKUP_IDS + 1)
+        .map(UUID::toString)
+        .collect(Collectors.joining(","));
+
+    webTestClient.get().uri("/api/v1/people?ids={ids}", ids)
+        .exchange()
+        .expectStatus().isBadRequest();
+
+    verify(service, never()).getPeopleById(anyList());
+  }
+
+  @Test
+  void read_people_by_invalid_id() {
+    webTestClient.get().uri("/api/v1/people?ids=not-a-uuid")
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
+  @Test
+  void read_people_as_smile() throws IOException {
+    var content = List.of(
+        new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME),
+        new PersonResponse(PersonDefaults.OTHER_ID, PersonDefaults.OTHER_NAME)
+    );
+
+    var pageable = PageRequest.ofSize(20);
+
+    when(service.getPeople(pageable))
+        .thenReturn(Mono.just(new PageImpl<>(content, pageable, content.size())));
+
+    var body = webTestClient.get().uri("/api/v1/people")
+        .accept(APPLICATION_SMILE)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(APPLICATION_SMILE)
+        .expectBody(byte[].class)
+        .returnResult().getResponseBody();
+
+    var smileMapper = new SmileMapper();
+    var page = smileMapper.readTree(body);
+    assertThat(smileMapper.treeToValue(page.get("content").get(0).get("id"), UUID.class)).isEqualTo(PersonDefaults.ID);
+    assertThat(page.get("content").get(1).get("name").asText()).isEqualTo(PersonDefaults.OTHER_NAME);
+    assertThat(page.get("totalElements").asInt()).isEqualTo(2);
+  }
+
+  @Test
+  void stream_people_as_ndjson() {
+    when(service.streamPeople()).thenReturn(Flux.just(new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME)));
+
+    webTestClient.get().uri("/api/v1/people")
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .expectBody(String.class)
+        .value(body -> assertThat(body).contains(PersonDefaults.ID_STRING).endsWith("\n"));
+  }
+
+  @Test
+  void stream_people_as_server_sent_events() {
+    when(service.streamPeople()).thenReturn(Flux.just(new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME)));
+
+    webTestClient.get().uri("/api/v1/people")
+        .accept(MediaType.TEXT_EVENT_STREAM)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM)
+        .expectBody(String.class)
+        .value(body -> assertThat(body).startsWith("data:").contains(PersonDefaults.ID_STRING));
+  }
+
+  @Test
+  void read_person_events() {
+    var content = List.of(
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME));
+    var pageable = PageRequest.ofSize(20);
+
+    when(service.getPersonEvents(PersonDefaults.ID, pageable))
+        .thenReturn(Mono.just(new PageImpl<>(content, pageable, content.size())));
+
+    webTestClient.get().uri("/api/v1/people/{id}/events", PersonDefaults.ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content[0].id").isEqualTo(EventDefaults.ID_STRING)
+        .jsonPath("$.content[0].title").isEqualTo(EventDefaults.TITLE)
+        .jsonPath("$.totalElements").isEqualTo(1);
+  }
+
+  @Test
+  void stream_person_events_as_ndjson() {
+    when(service.streamPersonEvents(PersonDefaults.ID)).thenReturn(Flux.just(
+        new EventResponse(EventDefaults.ID, EventDefaults.TITLE, EventDefaults.START_TIME, EventDefaults.END_TIME)));
+
+    webTestClient.get().uri("/api/v1/people/{id}/events", PersonDefaults.ID)
+        .accept(MediaType.APPLICATION_NDJSON)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+        .expectBody(String.class)
+        .value(body -> assertThat(body).contains(EventDefaults.ID_STRING).endsWith("\n"));
+  }
+
+  @Test
+  void read_people_slice() {
+    var content = List.of(
+        new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME));
+    var pageable = PageRequest.ofSize(20);
+
+    when(service.getPeopleSlice(pageable))
+        .thenReturn(Mono.just(new SliceImpl<>(content, pageable, true)));
+
+    webTestClient.get().uri("/api/v1/people?count=false")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content").isArray()
+        .jsonPath("$.content[0].id").isEqualTo(PersonDefaults.ID_STRING)
+        .jsonPath("$.number").isEqualTo(0)
+        .jsonPath("$.size").isEqualTo(20)
+        .jsonPath("$.first").isEqualTo(true)
+        .jsonPath("$.last").isEqualTo(false)
+        .jsonPath("$.totalElements").doesNotExist()
+        .jsonPath("$.totalPages").doesNotExist();
+  }
+
+  @Test
+  void read_people_by_cursor() {
+    var content = List.of(new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME));
+    var next = new PersonCursor(PersonDefaults.NAME, PersonDefaults.ID).token();
+
+    when(service.getPeople(Optional.empty(), 20))
+        .thenReturn(Mono.just(new CursorPage<>(content, next)));
+
+    webTestClient.get().uri("/api/v1/people?cursor=")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content").isArray()
+        .jsonPath("$.content[0].id").isEqualTo(PersonDefaults.ID_STRING)
+        .jsonPath("$.content[0].name").isEqualTo(PersonDefaults.NAME)
+        .jsonPath("$.next").isEqualTo(next);
+  }
+
+  @Test
+  void read_people_by_ids_ignores_count_and_cursor() {
+    when(service.getPeopleById(List.of(PersonDefaults.ID))).thenReturn(Flux.just(
+        new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME)));
+
+    webTestClient.get().uri("/api/v1/people?ids={id}&count=false&cursor=", PersonDefaults.ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.length()").isEqualTo(1)
+        .jsonPath("$[0].id").isEqualTo(PersonDefaults.ID_STRING);
+  }
+
+  @Test
+  void read_people_by_cursor_ignores_count() {
+    when(service.getPeople(Optional.empty(), 20))
+        .thenReturn(Mono.just(new CursorPage<>(List.of(), null)));
+
+    webTestClient.get().uri("/api/v1/people?count=false&cursor=")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.content").isEmpty();
+
+    verify(service, never()).getPeopleSlice(any());
+  }
+
+  @Test
+  void read_people_by_cursor_with_invalid_token() {
+    webTestClient.get().uri("/api/v1/people?cursor=foobar")
+        .exchange()
+        .expectStatus().isBadRequest();
+  }
+
   @Test
   void read_person() {
-    when(service.getPerson(PersonDefaults.ID)).thenReturn(
-        Mono.just(new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME)));
+    when(service.getVersionedPerson(PersonDefaults.ID)).thenReturn(
+        Mono.just(new Versioned<>(VERSION, new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME))));
 
     webTestClient.get().uri("/api/v1/people/{id}", PersonDefaults.ID)
         .exchange()
@@ -138,13 +364,96 @@ class PeopleControllerTest {
         .jsonPath("$.name").isEqualTo(PersonDefaults.NAME);
   }
 
+  @Test
+  void read_person_as_json_for_browsers() {
+    when(service.getVersionedPerson(PersonDefaults.ID)).thenReturn(
+        Mono.just(new Versioned<>(VERSION, new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME))));
+
+    webTestClient.get().uri("/api/v1/people/{id}", PersonDefaults.ID)
+        .header(HttpHeaders.ACCEPT, "text/html,application/xhtml+xml,application/xml;q=0.9,*/*;q=0.8")
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(MediaType.APPLICATION_JSON)
+        .expectBody()
+        .jsonPath("$.name").isEqualTo(PersonDefaults.NAME);
+  }
+
+  @Test
+  void read_person_as_smile() throws IOException {
+    when(service.getVersionedPerson(PersonDefaults.ID)).thenReturn(
+        Mono.just(new Versioned<>(VERSION, new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME))));
+
+    var body = webTestClient.get().uri("/api/v1/people/{id}", PersonDefaults.ID)
+        .accept(APPLICATION_SMILE)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().contentType(APPLICATION_SMILE)
+        .expectBody(byte[].class)
+        .returnResult().getResponseBody();
+
+    var smileMapper = new SmileMapper();
+    var person = smileMapper.readTree(body);
+    assertThat(smileMapper.treeToValue(person.get("id"), UUID.class)).isEqualTo(PersonDefaults.ID);
+    assertThat(person.get("name").asText()).isEqualTo(PersonDefaults.NAME);
+  }
+
   @Test
   void read_person_with_unknown_id() {
-    when(service.getPerson(PersonDefaults.ID)).thenReturn(Mono.empty());
+    when(service.getVersionedPerson(PersonDefaults.ID)).thenReturn(Mono.empty());
 
     webTestClient.get().uri("/api/v1/people/{id}", PersonDefaults.ID)
         .exchange()
         .expectStatus().isNotFound();
+    verify(service, never()).getPersonVersion(PersonDefaults.ID);
+  }
+
+  @Test
+  void read_person_sets_validators() {
+    when(service.getVersionedPerson(PersonDefaults.ID)).thenReturn(
+        Mono.just(new Versioned<>(VERSION, new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME))));
+
+    webTestClient.get().uri("/api/v1/people/{id}", PersonDefaults.ID)
+        .exchange()
+        .expectStatus().isOk()
+        .expectHeader().valueEquals(HttpHeaders.ETAG, '"' + VERSION.etag() + "-json\"")
+        .expectHeader().lastModified(VERSION.lastModified().truncatedTo(ChronoUnit.SECONDS).toEpochMilli());
+  }
+
+  @Test
+  void read_person_with_matching_etag() {
+    when(service.getPersonVersion(PersonDefaults.ID)).thenReturn(Mono.just(VERSION));
+
+    webTestClient.get().uri("/api/v1/people/{id}", PersonDefaults.ID)
+        .ifNoneMatch('"' + VERSION.etag() + "-json\"")
+        .exchange()
+        .expectStatus().isNotModified()
+        .expectBody().isEmpty();
+    verify(service, never()).getVersionedPerson(PersonDefaults.ID);
+  }
+
+  @Test
+  void read_person_not_modified_since() {
+    when(service.getPersonVersion(PersonDefaults.ID)).thenReturn(Mono.just(VERSION));
+
+    webTestClient.get().uri("/api/v1/people/{id}", PersonDefaults.ID)
+        .ifModifiedSince(VERSION.lastModified().atZone(ZoneOffset.UTC))
+        .exchange()
+        .expectStatus().isNotModified();
+    verify(service, never()).getVersionedPerson(PersonDefaults.ID);
+  }
+
+  @Test
+  void read_person_with_stale_etag() {
+    when(service.getPersonVersion(PersonDefaults.ID)).thenReturn(Mono.just(VERSION));
+    when(service.getVersionedPerson(PersonDefaults.ID)).thenReturn(
+        Mono.just(new Versioned<>(VERSION, new PersonResponse(PersonDefaults.ID, PersonDefaults.NAME))));
+
+    webTestClient.get().uri("/api/v1/people/{id}", PersonDefaults.ID)
+        .ifNoneMatch("\"stale\"")
+        .exchange()
+        .expectStatus().isOk()
+        .expectBody()
+        .jsonPath("$.name").isEqualTo(PersonDefaults.NAME);
   }
 
   @Test
@@ -153,7 +462,7 @@ class PeopleControllerTest {
         .put("name", PersonDefaults.OTHER_NAME)
         .toString();
 
-    when(service.updatePerson(PersonDefaults.ID, new PersonUpdateRequest(Optional.of(PersonDefaults.OTHER_NAME))))
+    when(service.updatePerson(eq(PersonDefaults.ID), eq(new PersonUpdateRequest(Optional.of(PersonDefaults.OTHER_NAME))), any()))
         .thenReturn(Mono.just(new PersonResponse(PersonDefaults.ID, PersonDefaults.OTHER_NAME)));
 
     webTestClient.patch().uri("/api/v1/people/{id}", PersonDefaults.ID)
@@ -178,9 +487,51 @@ class PeopleControllerTest {
         .expectStatus().isBadRequest();
   }
 
+  @Test
+  void update_person_with_matching_etag() {
+    when(service.updatePerson(eq(PersonDefaults.ID), eq(new PersonUpdateRequest(Optional.of(PersonDefaults.OTHER_NAME))), any()))
+        .thenAnswer(invocation -> invocation.<Predicate<ResourceVersion>>getArgument(2).test(VERSION)
+            ? Mono.just(new PersonResponse(PersonDefaults.ID, PersonDefaults.OTHER_NAME))
+            : Mono.error(new VersionMismatchException(VERSION)));
+
+    var payload = objectMapper.createObjectNode()
+        .put("name", PersonDefaults.OTHER_NAME)
+        .toString();
+
+    webTestClient.patch().uri("/api/v1/people/{id}", PersonDefaults.ID)
+        .header(HttpHeaders.IF_MATCH, '"' + VERSION.etag() + '"')
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(payload)
+        .exchange()
+        .expectStatus().isOk();
+
+    webTestClient.patch().uri("/api/v1/people/{id}", PersonDefaults.ID)
+        .header(HttpHeaders.IF_MATCH, "\"stale\"")
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(payload)
+        .exchange()
+        .expectStatus().isEqualTo(HttpStatus.PRECONDITION_FAILED);
+  }
+
+  @Test
+  void update_person_with_conflict() {
+    when(service.updatePerson(eq(PersonDefaults.ID), any(), any()))
+        .thenReturn(Mono.error(new OptimisticLockingFailureException("Conflict")));
+
+    var payload = objectMapper.createObjectNode()
+        .put("name", PersonDefaults.OTHER_NAME)
+        .toString();
+
+    webTestClient.patch().uri("/api/v1/people/{id}", PersonDefaults.ID)
+        .contentType(MediaType.APPLICATION_JSON)
+        .bodyValue(payload)
+        .exchange()
+        .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+  }
+
   @Test
   void update_person_with_unknown_id() {
-    when(service.updatePerson(eq(PersonDefaults.ID), any()))
+    when(service.updatePerson(eq(PersonDefaults.ID), any(), any()))
         .thenReturn(Mono.empty());
 
     var payload = objectMapper.createObjectNode()